@@ -11,6 +11,7 @@ import kr.toxicity.model.api.entity.BaseEntity;
 import kr.toxicity.model.api.nms.NMS;
 import kr.toxicity.model.api.nms.PlayerChannelHandler;
 import kr.toxicity.model.api.tracker.EntityTrackerRegistry;
+import kr.toxicity.model.api.tracker.HitBoxIndex;
 import org.bukkit.entity.Entity;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -158,6 +159,14 @@ public final class BetterModel {
         return EntityTrackerRegistry.registry(entity);
     }
 
+    /**
+     * Gets spatial index of model hitboxes for raycast, nearest-bone and area queries.
+     * @return hitbox index
+     */
+    public static @NotNull HitBoxIndex hitBoxIndex() {
+        return HitBoxIndex.GLOBAL;
+    }
+
     /**
      * Gets all models
      * @return all models
@@ -164,6 +164,18 @@ public interface BetterModelConfig {
      */
     boolean enableStrictLoading();
 
+    /**
+     * Gets whether non-mountable hitboxes are sent as packets only
+     * @return packet hitbox
+     */
+    boolean packetHitBox();
+
+    /**
+     * Gets distance tolerance of IK solving
+     * @return tolerance
+     */
+    float ikTolerance();
+
     /**
      * Pack type
      */
@@ -75,6 +75,16 @@ public sealed interface AnimationIterator<T extends Timed> extends Iterator<T> {
          * @param <T> keyframe type
          */
         public abstract <T extends Timed> @NotNull AnimationIterator<T> create(@NotNull List<T> keyframes);
+
+        /**
+         * Creates iterator by given packed keyframes.
+         * A returned movement reuses its vectors after three more reads.
+         * @param keyframes keyframes
+         * @return iterator
+         */
+        public @NotNull AnimationIterator<AnimationMovement> create(@NotNull AnimationKeyframes keyframes) {
+            return create(keyframes.reader());
+        }
     }
 
     /**
@@ -0,0 +1,283 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.animation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.joml.Vector3f;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Packed keyframes of one animator.
+ * <p>
+ * Times and each channel are stored in flat float arrays, and the presence of each channel is stored in bitmasks.
+ * Movements are unpacked on read, so the packed arrays are the only data kept for the lifetime of a model.
+ */
+public final class AnimationKeyframes {
+
+    private static final float[] EMPTY_CHANNEL = new float[0];
+
+    private final float[] times;
+    private final float[] position;
+    private final float[] scale;
+    private final float[] rotation;
+    private final long[] positionMask;
+    private final long[] scaleMask;
+    private final long[] rotationMask;
+    private final long[] globalRotationMask;
+    private final long[] skipInterpolationMask;
+    private final View view = new View();
+
+    private AnimationKeyframes(int size) {
+        times = new float[size];
+        position = new float[size * 3];
+        scale = new float[size * 3];
+        rotation = new float[size * 3];
+        var words = (size + 63) >>> 6;
+        positionMask = new long[words];
+        scaleMask = new long[words];
+        rotationMask = new long[words];
+        globalRotationMask = new long[words];
+        skipInterpolationMask = new long[words];
+    }
+
+    private AnimationKeyframes(@NotNull AnimationKeyframes packed) {
+        times = packed.times;
+        position = trim(packed.position, packed.positionMask);
+        scale = trim(packed.scale, packed.scaleMask);
+        rotation = trim(packed.rotation, packed.rotationMask);
+        positionMask = packed.positionMask;
+        scaleMask = packed.scaleMask;
+        rotationMask = packed.rotationMask;
+        globalRotationMask = packed.globalRotationMask;
+        skipInterpolationMask = packed.skipInterpolationMask;
+    }
+
+    /**
+     * Packs keyframes
+     * @param movements movements
+     * @return packed keyframes
+     */
+    public static @NotNull AnimationKeyframes of(@NotNull List<AnimationMovement> movements) {
+        var packed = new AnimationKeyframes(movements.size());
+        for (int i = 0; i < movements.size(); i++) {
+            var movement = movements.get(i);
+            packed.times[i] = movement.time();
+            put(packed.position, packed.positionMask, i, movement.position());
+            put(packed.scale, packed.scaleMask, i, movement.scale());
+            put(packed.rotation, packed.rotationMask, i, movement.rotation());
+            if (movement.globalRotation()) set(packed.globalRotationMask, i);
+            if (movement.skipInterpolation()) set(packed.skipInterpolationMask, i);
+        }
+        return new AnimationKeyframes(packed);
+    }
+
+    private static void put(float[] channel, long[] mask, int index, @Nullable Vector3f vector) {
+        if (vector == null) return;
+        set(mask, index);
+        channel[index * 3] = vector.x;
+        channel[index * 3 + 1] = vector.y;
+        channel[index * 3 + 2] = vector.z;
+    }
+
+    private static float[] trim(float[] channel, long[] mask) {
+        for (long word : mask) {
+            if (word != 0) return channel;
+        }
+        return EMPTY_CHANNEL;
+    }
+
+    private static void set(long[] mask, int index) {
+        mask[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean has(long[] mask, int index) {
+        return (mask[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static @Nullable Vector3f vector(float[] channel, long[] mask, int index) {
+        if (!has(mask, index)) return null;
+        var i = index * 3;
+        return new Vector3f(channel[i], channel[i + 1], channel[i + 2]);
+    }
+
+    /**
+     * Gets the number of keyframes
+     * @return size
+     */
+    public int size() {
+        return times.length;
+    }
+
+    /**
+     * Checks these keyframes are empty
+     * @return empty
+     */
+    public boolean isEmpty() {
+        return times.length == 0;
+    }
+
+    /**
+     * Gets the estimated heap size of these keyframes
+     * @return size in bytes
+     */
+    public long estimatedSize() {
+        return 48L
+                + 16L + 4L * times.length
+                + 3 * 16L + 4L * (position.length + scale.length + rotation.length)
+                + 5 * (16L + 8L * positionMask.length);
+    }
+
+    /**
+     * Gets the time of keyframe
+     * @param index index
+     * @return time
+     */
+    public float time(int index) {
+        return times[index];
+    }
+
+    /**
+     * Unpacks a movement of keyframe
+     * @param index index
+     * @return new movement
+     */
+    public @NotNull AnimationMovement movement(int index) {
+        return new AnimationMovement(
+                times[index],
+                vector(position, positionMask, index),
+                vector(scale, scaleMask, index),
+                vector(rotation, rotationMask, index),
+                has(globalRotationMask, index),
+                has(skipInterpolationMask, index)
+        );
+    }
+
+    /**
+     * Gets a view of these keyframes.
+     * Each read unpacks a new movement.
+     * @return view
+     */
+    public @NotNull @Unmodifiable List<AnimationMovement> view() {
+        return view;
+    }
+
+    /**
+     * Creates a reader of these keyframes for one iterator.
+     * Each read unpacks into vectors reused by the reader, so a read movement stays valid only until three more reads.
+     * @return reader
+     */
+    public @NotNull @Unmodifiable List<AnimationMovement> reader() {
+        return new Reader();
+    }
+
+    /**
+     * Unpacks all keyframes
+     * @return movements
+     */
+    public @NotNull @Unmodifiable List<AnimationMovement> toList() {
+        var list = new ArrayList<AnimationMovement>(size());
+        for (int i = 0; i < size(); i++) {
+            list.add(movement(i));
+        }
+        return List.copyOf(list);
+    }
+
+    /**
+     * Streams unpacked keyframes
+     * @return movement stream
+     */
+    public @NotNull Stream<AnimationMovement> stream() {
+        return IntStream.range(0, size()).mapToObj(this::movement);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AnimationKeyframes that)) return false;
+        return Arrays.equals(times, that.times)
+                && Arrays.equals(position, that.position)
+                && Arrays.equals(scale, that.scale)
+                && Arrays.equals(rotation, that.rotation)
+                && Arrays.equals(positionMask, that.positionMask)
+                && Arrays.equals(scaleMask, that.scaleMask)
+                && Arrays.equals(rotationMask, that.rotationMask)
+                && Arrays.equals(globalRotationMask, that.globalRotationMask)
+                && Arrays.equals(skipInterpolationMask, that.skipInterpolationMask);
+    }
+
+    @Override
+    public int hashCode() {
+        var result = Arrays.hashCode(times);
+        result = 31 * result + Arrays.hashCode(position);
+        result = 31 * result + Arrays.hashCode(scale);
+        result = 31 * result + Arrays.hashCode(rotation);
+        result = 31 * result + Arrays.hashCode(positionMask);
+        result = 31 * result + Arrays.hashCode(scaleMask);
+        result = 31 * result + Arrays.hashCode(rotationMask);
+        result = 31 * result + Arrays.hashCode(globalRotationMask);
+        result = 31 * result + Arrays.hashCode(skipInterpolationMask);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AnimationKeyframes[size=" + size() + "]";
+    }
+
+    private final class View extends AbstractList<AnimationMovement> implements RandomAccess {
+        @Override
+        public AnimationMovement get(int index) {
+            return movement(index);
+        }
+
+        @Override
+        public int size() {
+            return times.length;
+        }
+    }
+
+    private final class Reader extends AbstractList<AnimationMovement> implements RandomAccess {
+        private final Vector3f[] buffer = new Vector3f[9];
+        private int slot;
+
+        @Override
+        public AnimationMovement get(int index) {
+            var offset = slot * 3;
+            slot = (slot + 1) % 3;
+            return new AnimationMovement(
+                    times[index],
+                    read(position, positionMask, index, offset),
+                    read(scale, scaleMask, index, offset + 1),
+                    read(rotation, rotationMask, index, offset + 2),
+                    has(globalRotationMask, index),
+                    has(skipInterpolationMask, index)
+            );
+        }
+
+        private @Nullable Vector3f read(float[] channel, long[] mask, int index, int offset) {
+            if (!has(mask, index)) return null;
+            var vector = buffer[offset];
+            if (vector == null) buffer[offset] = vector = new Vector3f();
+            var i = index * 3;
+            return vector.set(channel[i], channel[i + 1], channel[i + 2]);
+        }
+
+        @Override
+        public int size() {
+            return times.length;
+        }
+    }
+}
@@ -39,6 +39,7 @@ public final class AnimationStateHandler<T extends Timed> {
 
     @Getter
     private int delay;
+    private int duration;
     private volatile TreeIterator currentIterator = null;
     private volatile KeyframeData beforeKeyframe = null, afterKeyframe = null;
 
@@ -89,12 +90,37 @@ public final class AnimationStateHandler<T extends Timed> {
      * @return keyframe has been shifted or not
      */
     public boolean tick(@NotNull Runnable ifEmpty) {
-        delay--;
+        return tick(1, ifEmpty);
+    }
+
+    /**
+     * Ticks this state handler
+     * @param step elapsed frames
+     * @param ifEmpty callback if animator is empty
+     * @return keyframe has been shifted or not
+     */
+    public boolean tick(int step, @NotNull Runnable ifEmpty) {
+        var previous = delay;
+        delay -= step;
         if (animators.isEmpty()) {
             ifEmpty.run();
             return false;
         }
-        return shouldUpdateAnimation() && updateAnimation();
+        if (!shouldUpdateAnimation(previous)) return false;
+        var updated = false;
+        while (updateAnimation()) {
+            updated = true;
+            if (afterKeyframe == null || !expired()) break;
+        }
+        return updated;
+    }
+
+    private int lastFrame() {
+        return Math.min(duration, 1) - 1;
+    }
+
+    private boolean expired() {
+        return delay <= lastFrame();
     }
 
     /**
@@ -106,8 +132,10 @@ public final class AnimationStateHandler<T extends Timed> {
         return frame == 0 ? 0 : Math.clamp((float) delay / frame, 0F, 1F);
     }
 
-    private boolean shouldUpdateAnimation() {
-        return forceUpdateAnimation.compareAndSet(true, false) || (afterKeyframe != null && keyframeFinished()) || delay % Tracker.MINECRAFT_TICK_MULTIPLIER == 0;
+    private boolean shouldUpdateAnimation(int previous) {
+        return forceUpdateAnimation.compareAndSet(true, false)
+                || (afterKeyframe != null && keyframeFinished())
+                || Math.floorDiv(previous - 1, Tracker.MINECRAFT_TICK_MULTIPLIER) != Math.floorDiv(delay - 1, Tracker.MINECRAFT_TICK_MULTIPLIER);
     }
 
     private boolean updateAnimation() {
@@ -151,11 +179,13 @@ public final class AnimationStateHandler<T extends Timed> {
 
     private boolean setAfterKeyframe(@Nullable KeyframeData next) {
         if (equals(afterKeyframe, next)) return false;
+        var overshoot = afterKeyframe != null && expired() ? delay - lastFrame() : 0;
         setConsumer.accept(
                 value(beforeKeyframe = afterKeyframe),
                 value(afterKeyframe = next)
         );
-        delay = Math.round(frame());
+        duration = Math.round(frame());
+        delay = duration + overshoot;
         return true;
     }
 
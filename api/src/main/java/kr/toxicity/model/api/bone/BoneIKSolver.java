@@ -6,6 +6,7 @@
  */
 package kr.toxicity.model.api.bone;
 
+import kr.toxicity.model.api.BetterModel;
 import kr.toxicity.model.api.util.InterpolationUtil;
 import kr.toxicity.model.api.util.MathUtil;
 import lombok.RequiredArgsConstructor;
@@ -15,10 +16,11 @@ import org.jetbrains.annotations.Nullable;
 import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
+import java.util.Arrays;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Bone IK solver
@@ -31,6 +33,7 @@ public final class BoneIKSolver {
 
     private final Map<UUID, RenderedBone> boneMap;
     private final Map<RenderedBone, IKTree> locators = new LinkedHashMap<>();
+    private final float tolerance = BetterModel.config().ikTolerance();
 
     /**
      * Adds some external locator to this solver
@@ -42,11 +45,11 @@ public final class BoneIKSolver {
         var target = boneMap.get(ikTarget);
         if (target == null) return;
         var source = ikSource == null ? target.root : boneMap.getOrDefault(ikSource, target.root);
-        var list = source.flatten()
+        var bones = source.flatten()
                 .filter(bone -> !bone.flattenBones().contains(locator) && bone.flattenBones().contains(target))
-                .toList();
-        if (list.size() < 2) return;
-        locators.put(locator, new IKTree(source, list, new float[list.size() - 1]));
+                .toArray(RenderedBone[]::new);
+        if (bones.length < 2) return;
+        locators.put(locator, new IKTree(source, bones));
     }
 
     /**
@@ -58,68 +61,275 @@ public final class BoneIKSolver {
 
     /**
      * Solves ik
+     * <p>
+     * A player solves the trees where some bone has its own state.
+     * The other bones of that tree are solved from a copy of their shared movement, so shared movements are never solved twice.
      * @param uuid player uuid
      */
     public void solve(@Nullable UUID uuid) {
         for (var entry : locators.entrySet()) {
             var locator = entry.getKey();
             var value = entry.getValue();
-            var root = value.bones.getFirst();
-            fabrik(
-                    value.bones.stream()
-                            .map(bone -> bone.state(uuid).after())
-                            .toList(),
-                    value.source.state(uuid).after().rotation().invert(new Quaternionf()),
-                    value.buffer,
-                    locator.state(uuid).after().position().get(new Vector3f())
+            if (uuid != null && !hasState(value.bones, uuid)) continue;
+            var chain = value.chain(uuid);
+            var movements = chain.movements;
+            for (int i = 0; i < movements.length; i++) {
+                var bone = value.bones[i];
+                movements[i] = uuid == null || bone.hasState(uuid) ? bone.state(uuid).after() : chain.copy(i, bone.state(null).after(), value.chain);
+            }
+            var root = value.bones[0];
+            chain.solve(
+                    value.source.state(uuid).after().rotation().invert(chain.parentRotation),
+                    locator.state(uuid).after().position().get(chain.target)
                             .add(locator.root.group.getPosition())
-                            .sub(root.state(uuid).after().position())
-                            .sub(root.root.group.getPosition())
+                            .sub(movements[0].position())
+                            .sub(root.root.group.getPosition()),
+                    tolerance,
+                    MAX_IK_ITERATION
             );
         }
     }
 
-    private record IKTree(@NotNull RenderedBone source, @NotNull List<RenderedBone> bones, float[] buffer) {}
+    /**
+     * Drops the cached chains of some player
+     * @param uuid player uuid
+     */
+    public void clear(@NotNull UUID uuid) {
+        for (IKTree value : locators.values()) {
+            value.playerChains.remove(uuid);
+        }
+    }
 
-    private static void fabrik(@NotNull List<BoneMovement> bones, @NotNull Quaternionf parentRot, float[] lengths, @NotNull Vector3f target) {
-        var first = bones.getFirst().position();
-        var last = bones.getLast().position();
+    private static boolean hasState(@NotNull RenderedBone[] bones, @NotNull UUID uuid) {
+        for (RenderedBone bone : bones) {
+            if (bone.hasState(uuid)) return true;
+        }
+        return false;
+    }
 
-        var rootPos = new Vector3f(first);
+    private static final class IKTree {
+        private final RenderedBone source;
+        private final RenderedBone[] bones;
+        private final Chain chain;
+        private final Map<UUID, Chain> playerChains = new ConcurrentHashMap<>();
 
-        for (int i = 0; i < bones.size() - 1; i++) {
-            var before = bones.get(i);
-            var after = bones.get(i + 1);
-            lengths[i] = before.position().distance(after.position());
+        private IKTree(@NotNull RenderedBone source, @NotNull RenderedBone[] bones) {
+            this.source = source;
+            this.bones = bones;
+            chain = new Chain(bones.length);
         }
-        for (int iter = 0; iter < MAX_IK_ITERATION; iter++) {
-            // Forward
-            last.set(target);
-            for (int i = bones.size() - 2; i >= 0; i--) {
-                var current = bones.get(i).position();
-                var next = bones.get(i + 1).position();
-                var dist = current.distance(next);
-                if (dist < MathUtil.FLOAT_COMPARISON_EPSILON) continue;
-                InterpolationUtil.lerp(next, current, lengths[i] / dist, current);
+
+        private @NotNull Chain chain(@Nullable UUID uuid) {
+            return uuid == null ? chain : playerChains.computeIfAbsent(uuid, u -> new Chain(bones.length));
+        }
+    }
+
+    /**
+     * Scratch data of one FABRIK chain.
+     * <p>
+     * The chain remembers the last input and output.
+     * An unmoved chain is skipped if it still holds the last output, or restored to it if it was animated to the same input again.
+     * A chain which still holds the last output is solved again from the last input, so its rotation is never applied twice.
+     */
+    @ApiStatus.Internal
+    public static final class Chain {
+        private static final int POSITION = 3;
+        private static final int ROTATION = 4;
+
+        private final int size;
+        private final int snapshotSize;
+        private final BoneMovement[] movements;
+        private final BoneMovement[] copies;
+        private final float[] positions;
+        private final float[] lengths;
+        private final float[] current;
+        private final float[] input;
+        private final float[] output;
+        private final Quaternionf parentRotation = new Quaternionf();
+        private final Quaternionf rotationBuffer = new Quaternionf();
+        private final Vector3f target = new Vector3f();
+        private boolean solved;
+
+        /**
+         * Creates chain
+         * @param size the number of bones
+         */
+        public Chain(int size) {
+            this.size = size;
+            snapshotSize = size * (POSITION + ROTATION);
+            movements = new BoneMovement[size];
+            copies = new BoneMovement[size];
+            positions = new float[size * POSITION];
+            lengths = new float[size - 1];
+            current = new float[snapshotSize + POSITION + ROTATION];
+            input = new float[current.length];
+            output = new float[snapshotSize];
+        }
+
+        /**
+         * Solves this chain with movements
+         * @param movements bone movements
+         * @param parentRotation inverted rotation of source
+         * @param target target position
+         * @param tolerance tolerance
+         * @param maxIteration max iteration
+         * @return whether FABRIK was run
+         */
+        public boolean solve(@NotNull BoneMovement[] movements, @NotNull Quaternionf parentRotation, @NotNull Vector3f target, float tolerance, int maxIteration) {
+            System.arraycopy(movements, 0, this.movements, 0, size);
+            return solve(parentRotation, target, tolerance, maxIteration);
+        }
+
+        private boolean solve(@NotNull Quaternionf parentRotation, @NotNull Vector3f target, float tolerance, int maxIteration) {
+            snapshot(parentRotation, target);
+            if (solved) {
+                var unmoved = Arrays.equals(current, snapshotSize, current.length, input, snapshotSize, input.length);
+                if (Arrays.equals(current, 0, snapshotSize, output, 0, snapshotSize)) {
+                    if (unmoved) return false;
+                    System.arraycopy(input, 0, current, 0, snapshotSize);
+                    restore(current);
+                } else if (unmoved && Arrays.equals(current, 0, snapshotSize, input, 0, snapshotSize)) {
+                    restore(output);
+                    return false;
+                }
             }
-            // Backward
-            first.set(rootPos);
-            for (int i = 0; i < bones.size() - 1; i++) {
-                var current = bones.get(i).position();
-                var next = bones.get(i + 1).position();
-                var dist = current.distance(next);
-                if (dist < MathUtil.FLOAT_COMPARISON_EPSILON) continue;
-                InterpolationUtil.lerp(current, next, lengths[i] / dist, next);
+            System.arraycopy(current, 0, input, 0, input.length);
+            fabrik(target, tolerance, maxIteration);
+            apply(parentRotation);
+            for (int i = 0; i < size; i++) {
+                write(movements[i], i, output);
             }
-            // Check
-            if (last.distance(target) < MathUtil.FRAME_EPSILON) break;
+            solved = true;
+            return true;
+        }
+
+        /**
+         * Copies a shared movement as it was before the shared chain was solved
+         */
+        private @NotNull BoneMovement copy(int index, @NotNull BoneMovement movement, @NotNull Chain shared) {
+            var copy = copies[index];
+            if (copy == null) copy = copies[index] = BoneMovement.empty();
+            copy.position().set(movement.position());
+            copy.scale().set(movement.scale());
+            copy.rotation().set(movement.rotation());
+            copy.rawRotation().set(movement.rawRotation());
+            if (shared.solved) {
+                var p = index * POSITION;
+                var r = size * POSITION + index * ROTATION;
+                copy.position().set(shared.input[p], shared.input[p + 1], shared.input[p + 2]);
+                copy.rotation().set(shared.input[r], shared.input[r + 1], shared.input[r + 2], shared.input[r + 3]);
+            }
+            return copy;
+        }
+
+        private void snapshot(@NotNull Quaternionf parentRotation, @NotNull Vector3f target) {
+            for (int i = 0; i < size; i++) {
+                write(movements[i], i, current);
+            }
+            var i = snapshotSize;
+            current[i++] = target.x;
+            current[i++] = target.y;
+            current[i++] = target.z;
+            current[i++] = parentRotation.x;
+            current[i++] = parentRotation.y;
+            current[i++] = parentRotation.z;
+            current[i] = parentRotation.w;
+        }
+
+        private void write(@NotNull BoneMovement movement, int index, float[] dest) {
+            var p = index * POSITION;
+            var position = movement.position();
+            dest[p] = position.x;
+            dest[p + 1] = position.y;
+            dest[p + 2] = position.z;
+            var r = size * POSITION + index * ROTATION;
+            var rotation = movement.rotation();
+            dest[r] = rotation.x;
+            dest[r + 1] = rotation.y;
+            dest[r + 2] = rotation.z;
+            dest[r + 3] = rotation.w;
+        }
+
+        private void restore(float[] source) {
+            for (int i = 0; i < size; i++) {
+                var p = i * POSITION;
+                var r = size * POSITION + i * ROTATION;
+                movements[i].position().set(source[p], source[p + 1], source[p + 2]);
+                movements[i].rotation().set(source[r], source[r + 1], source[r + 2], source[r + 3]);
+            }
+        }
+
+        private void fabrik(@NotNull Vector3f target, float tolerance, int maxIteration) {
+            System.arraycopy(current, 0, positions, 0, positions.length);
+            var last = (size - 1) * POSITION;
+            var rootX = positions[0];
+            var rootY = positions[1];
+            var rootZ = positions[2];
+            for (int i = 0; i < size - 1; i++) {
+                lengths[i] = distance(i * POSITION, (i + 1) * POSITION);
+            }
+            for (int iter = 0; iter < maxIteration; iter++) {
+                // Forward
+                positions[last] = target.x;
+                positions[last + 1] = target.y;
+                positions[last + 2] = target.z;
+                for (int i = size - 2; i >= 0; i--) {
+                    var current = i * POSITION;
+                    var next = current + POSITION;
+                    var dist = distance(current, next);
+                    if (dist < MathUtil.FLOAT_COMPARISON_EPSILON) continue;
+                    lerp(next, current, lengths[i] / dist, current);
+                }
+                // Backward
+                positions[0] = rootX;
+                positions[1] = rootY;
+                positions[2] = rootZ;
+                for (int i = 0; i < size - 1; i++) {
+                    var current = i * POSITION;
+                    var next = current + POSITION;
+                    var dist = distance(current, next);
+                    if (dist < MathUtil.FLOAT_COMPARISON_EPSILON) continue;
+                    lerp(current, next, lengths[i] / dist, next);
+                }
+                // Check
+                var dx = positions[last] - target.x;
+                var dy = positions[last + 1] - target.y;
+                var dz = positions[last + 2] - target.z;
+                if ((float) Math.sqrt(dx * dx + dy * dy + dz * dz) < tolerance) break;
+            }
+        }
+
+        private void apply(@NotNull Quaternionf parentRotation) {
+            for (int i = 0; i < size; i++) {
+                var p = i * POSITION;
+                movements[i].position().set(positions[p], positions[p + 1], positions[p + 2]);
+            }
+            for (int i = 0; i < size - 1; i++) {
+                var p = i * POSITION;
+                var rotation = movements[i].rotation();
+                MathUtil.fromToRotation(
+                                positions[p + 3] - positions[p],
+                                positions[p + 4] - positions[p + 1],
+                                positions[p + 5] - positions[p + 2],
+                                rotationBuffer
+                        )
+                        .mul(parentRotation)
+                        .mul(rotation);
+                rotation.set(rotationBuffer);
+            }
+        }
+
+        private float distance(int from, int to) {
+            var dx = positions[from] - positions[to];
+            var dy = positions[from + 1] - positions[to + 1];
+            var dz = positions[from + 2] - positions[to + 2];
+            return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
         }
-        for (int i = 0; i < bones.size() - 1; i++) {
-            var current = bones.get(i);
-            var next = bones.get(i + 1);
 
-            var dir = next.position().sub(current.position(), new Vector3f());
-            current.rotation().set(MathUtil.fromToRotation(dir).mul(parentRot).mul(current.rotation()));
+        private void lerp(int from, int to, float alpha, int dest) {
+            positions[dest] = InterpolationUtil.lerp(positions[from], positions[to], alpha);
+            positions[dest + 1] = InterpolationUtil.lerp(positions[from + 1], positions[to + 1], alpha);
+            positions[dest + 2] = InterpolationUtil.lerp(positions[from + 2], positions[to + 2], alpha);
         }
     }
 }
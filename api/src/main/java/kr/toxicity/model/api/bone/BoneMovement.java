@@ -31,15 +31,44 @@ public record BoneMovement(
      * @return animated movement
      */
     public @NotNull BoneMovement plus(@NotNull AnimationMovement movement) {
+        return plus(movement, empty());
+    }
+
+    /**
+     * Animates this movement into destination.
+     * @param movement animation
+     * @param dest destination movement
+     * @return destination movement
+     */
+    public @NotNull BoneMovement plus(@NotNull AnimationMovement movement, @NotNull BoneMovement dest) {
         var mov = movement.position();
         var scl = movement.scale();
         var rot = movement.rotation();
-        var rawRot = rot == null ? new Vector3f(rawRotation) : new Vector3f(rot).add(rawRotation);
-        return new BoneMovement(
-                mov == null ? new Vector3f(position) : new Vector3f(position).add(mov),
-                scl == null ? new Vector3f(scale) : new Vector3f(scale).mul(new Vector3f(scl).add(1, 1, 1)),
-                rot == null ? new Quaternionf(rotation) : MathUtil.toQuaternion(rawRot),
-                rawRot
-        );
+        dest.position.set(position);
+        if (mov != null) dest.position.add(mov);
+        dest.scale.set(scale);
+        if (scl != null) dest.scale.mul(scl.x + 1, scl.y + 1, scl.z + 1);
+        dest.rawRotation.set(rawRotation);
+        if (rot != null) {
+            dest.rawRotation.add(rot);
+            MathUtil.toQuaternion(dest.rawRotation, dest.rotation);
+        } else dest.rotation.set(rotation);
+        return dest;
+    }
+
+    /**
+     * Copies this movement.
+     * @return new movement
+     */
+    public @NotNull BoneMovement copy() {
+        return new BoneMovement(new Vector3f(position), new Vector3f(scale), new Quaternionf(rotation), new Vector3f(rawRotation));
+    }
+
+    /**
+     * Creates empty movement.
+     * @return empty movement
+     */
+    public static @NotNull BoneMovement empty() {
+        return new BoneMovement(new Vector3f(), new Vector3f(1), new Quaternionf(), new Vector3f());
     }
 }
@@ -12,7 +12,7 @@ import kr.toxicity.model.api.BetterModel;
 import kr.toxicity.model.api.animation.*;
 import kr.toxicity.model.api.data.blueprint.BlueprintAnimation;
 import kr.toxicity.model.api.data.blueprint.BlueprintElement;
-import kr.toxicity.model.api.data.blueprint.ModelBoundingBox;
+import kr.toxicity.model.api.data.renderer.BoneTemplate;
 import kr.toxicity.model.api.data.renderer.RenderSource;
 import kr.toxicity.model.api.data.renderer.RendererGroup;
 import kr.toxicity.model.api.entity.BaseEntity;
@@ -51,6 +51,9 @@ public final class RenderedBone implements BoneEventHandler {
     @Getter
     @NotNull
     final RendererGroup group;
+    @Getter
+    @NotNull
+    private final BoneTemplate template;
     private final BoneMovement defaultFrame;
     private final RenderSource<?> renderSource;
     private final BoneEventDispatcher eventDispatcher = new BoneEventDispatcher();
@@ -100,39 +103,39 @@ public final class RenderedBone implements BoneEventHandler {
     private FloatSupplier scale = FloatConstantSupplier.ONE;
 
     private Function<Vector3f, Vector3f> positionModifier = p -> p;
-    private Vector3f lastModifiedPosition = new Vector3f();
+    private final Vector3f modifierPosition = new Vector3f();
+    private final Vector3f lastModifiedPosition = new Vector3f();
     private Function<Quaternionf, Quaternionf> rotationModifier = r -> r;
-    private Quaternionf lastModifiedRotation = new Quaternionf();
+    private final Quaternionf modifierRotation = new Quaternionf();
+    private final Quaternionf lastModifiedRotation = new Quaternionf();
 
     /**
      * Creates entity.
-     * @param group group
+     * @param template template
      * @param parent parent entity
      * @param renderSource render source
-     * @param movement spawn movement
-     * @param childrenMapper mapper
      */
     @ApiStatus.Internal
     public RenderedBone(
-            @NotNull RendererGroup group,
+            @NotNull BoneTemplate template,
             @Nullable RenderedBone parent,
-            @NotNull RenderSource<?> renderSource,
-            @NotNull BoneMovement movement,
-            @NotNull Function<RenderedBone, Map<BoneName, RenderedBone>> childrenMapper
+            @NotNull RenderSource<?> renderSource
     ) {
-        this.group = group;
+        this.template = template;
+        this.group = template.getGroup();
         this.parent = parent;
         this.renderSource = renderSource;
         itemMapper = group.getItemMapper();
         root = parent != null ? parent.root : this;
-        this.itemStack = itemMapper.apply(renderSource, group.getItemStack());
-        this.dummyBone = group.getItemStack().isAir() && itemMapper == BoneItemMapper.EMPTY;
-        defaultFrame = movement;
-        children = childrenMapper.apply(this);
+        this.itemStack = itemMapper.apply(renderSource, template.getItemStack());
+        this.dummyBone = template.isDummy();
+        defaultFrame = template.getMovement();
+        children = children(template.getChildren());
         if (!dummyBone) {
+            if (itemStack == template.getItemStack() && !itemStack.isAir()) tintCacheMap.put(INITIAL_TINT_VALUE, template.defaultTintedItem());
             display = BetterModel.nms().create(renderSource.location(), renderSource instanceof RenderSource.Entity ? -4096 : 0, d -> {
-                d.display(itemMapper.transform());
-                d.invisible(!group.getParent().visibility());
+                d.display(template.getTransform());
+                d.invisible(!template.isVisible());
                 d.viewRange(EntityUtil.ENTITY_MODEL_VIEW_RADIUS);
                 applyItem(d);
             });
@@ -140,6 +143,15 @@ public final class RenderedBone implements BoneEventHandler {
         globalState = new BoneStateHandler(null, uuid -> {});
     }
 
+    private @NotNull Map<BoneName, RenderedBone> children(@NotNull List<BoneTemplate> templates) {
+        if (templates.isEmpty()) return Collections.emptyMap();
+        var map = new LinkedHashMap<BoneName, RenderedBone>(templates.size() * 2);
+        for (BoneTemplate child : templates) {
+            map.put(child.getGroup().name(), new RenderedBone(child, this, renderSource));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
     public void locator(@NotNull BoneIKSolver solver) {
         if (getGroup().getParent() instanceof BlueprintElement.NullObject nullObject) {
             var ikTarget = nullObject.ikTarget();
@@ -192,11 +204,13 @@ public final class RenderedBone implements BoneEventHandler {
             var previous = hitBox;
             synchronized (this) {
                 if (previous != hitBox) return false;
-                var h = group.getHitBox();
-                if (h == null) h = ModelBoundingBox.MIN.named(name());
+                var h = template.getHitBox();
                 var l = eventDispatcher.onCreateHitBox(this, (listener != null ? listener : HitBoxListener.EMPTY).toBuilder()).build();
                 if (hitBox != null) hitBox.removeHitBox();
-                hitBox = BetterModel.nms().createHitBox(entity, this, h, group.getMountController(), l);
+                var controller = group.getMountController();
+                hitBox = BetterModel.config().packetHitBox() && !controller.canMount()
+                        ? BetterModel.nms().createPacketHitBox(entity, this, h, controller, l)
+                        : BetterModel.nms().createHitBox(entity, this, h, controller, l);
                 return hitBox != null;
             }
         }
@@ -279,6 +293,8 @@ public final class RenderedBone implements BoneEventHandler {
 
     /**
      * Adds rotation modifier.
+     * <p>
+     * The first function receives a reused identity quaternion, and the result of the last one is copied.
      * @param predicate predicate
      * @param function animation consumer
      * @return whether to success
@@ -293,6 +309,8 @@ public final class RenderedBone implements BoneEventHandler {
 
     /**
      * Adds position modifier.
+     * <p>
+     * The first function receives a reused zero vector, and the result of the last one is copied.
      * @param predicate predicate
      * @param function animation consumer
      * @return whether to success
@@ -315,12 +333,37 @@ public final class RenderedBone implements BoneEventHandler {
     }
 
     public boolean tick() {
-        return globalState.tick();
+        return tick(1);
+    }
+
+    public boolean tick(int step) {
+        return globalState.tick(step);
     }
 
     public boolean tick(@NotNull UUID uuid) {
+        return tick(uuid, 1);
+    }
+
+    public boolean tick(@NotNull UUID uuid, int step) {
         var get = perPlayerState.get(uuid);
-        return get != null && get.tick();
+        return get != null && get.tick(step);
+    }
+
+    /**
+     * Checks this bone has its own state for some player
+     * @param uuid player uuid
+     * @return has state
+     */
+    public boolean hasState(@NotNull UUID uuid) {
+        return perPlayerState.containsKey(uuid);
+    }
+
+    /**
+     * Checks some player has its own state of this bone
+     * @return has state
+     */
+    public boolean hasState() {
+        return !perPlayerState.isEmpty();
     }
 
     public void dirtyUpdate(@NotNull PacketBundler bundler) {
@@ -342,6 +385,16 @@ public final class RenderedBone implements BoneEventHandler {
         state(uuid).sendTransformation(bundler);
     }
 
+    /**
+     * Sends transformation of player's own state only
+     * @param uuid player uuid
+     * @param bundler packet bundler
+     */
+    public void sendPlayerTransformation(@NotNull UUID uuid, @NotNull PacketBundler bundler) {
+        var get = perPlayerState.get(uuid);
+        if (get != null) get.sendTransformation(bundler);
+    }
+
     public void forceTransformation(@NotNull PacketBundler bundler) {
         var d = globalState.transformer;
         if (d != null) d.sendTransformation(bundler);
@@ -366,8 +419,9 @@ public final class RenderedBone implements BoneEventHandler {
     public @NotNull Vector3f worldPosition(@NotNull Vector3f localOffset, @NotNull Vector3f globalOffset, @Nullable UUID uuid) {
         var state = state(uuid);
         var progress = state.progress();
-        var current = state.current();
-        var before = state.before();
+        var snapshot = state.snapshot;
+        var current = snapshot.current();
+        var before = snapshot.before();
         return MathUtil.fma(
                         InterpolationUtil.lerp(before.position(), current.position(), progress)
                                 .add(itemStack.offset())
@@ -392,8 +446,9 @@ public final class RenderedBone implements BoneEventHandler {
     public @NotNull Vector3f worldRotation(@Nullable UUID uuid) {
         var state = state(uuid);
         var progress = state.progress();
-        var current = state.current();
-        var before = state.before();
+        var snapshot = state.snapshot;
+        var current = snapshot.current();
+        var before = snapshot.before();
         return InterpolationUtil.lerp(before.rawRotation(), current.rawRotation(), progress);
     }
 
@@ -402,11 +457,11 @@ public final class RenderedBone implements BoneEventHandler {
     }
 
     private @NotNull Vector3f modifiedPosition(boolean preventModifierUpdate) {
-        return preventModifierUpdate ? lastModifiedPosition : (lastModifiedPosition = positionModifier.apply(new Vector3f()));
+        return preventModifierUpdate ? lastModifiedPosition : lastModifiedPosition.set(positionModifier.apply(modifierPosition.zero()));
     }
 
     private @NotNull Quaternionf modifiedRotation(boolean preventModifierUpdate) {
-        return preventModifierUpdate ? lastModifiedRotation : (lastModifiedRotation = rotationModifier.apply(new Quaternionf()));
+        return preventModifierUpdate ? lastModifiedRotation : lastModifiedRotation.set(rotationModifier.apply(modifierRotation.identity()));
     }
 
     public boolean tint(@NotNull Predicate<RenderedBone> predicate) {
@@ -443,6 +498,7 @@ public final class RenderedBone implements BoneEventHandler {
 
     public void spawn(boolean hide, @NotNull PacketBundler bundler) {
         if (display != null) display.spawn(!hide && !display.invisible(), bundler);
+        if (!hide && hitBox instanceof PacketHitBox packetHitBox) packetHitBox.spawn(bundler);
         var transformer = globalState.transformer;
         if (transformer != null) transformer.sendTransformation(bundler);
     }
@@ -451,9 +507,11 @@ public final class RenderedBone implements BoneEventHandler {
         if (filter.test(this)) {
             var get = animator.animator().get(name());
             if (get == null && modifier.override(animator.override()) && !filter.isChildren()) return false;
+            var player = modifier.player();
+            if (get == null && player != null && !animator.animator().isEmpty() && (parent == null || !parent.hasState(player.getUniqueId()))) return true;
             var type = modifier.type(animator.loop());
             var iterator = get != null ? get.iterator(type) : animator.emptyIterator(type);
-            getOrCreateState(modifier.player()).state.addAnimation(animator.name(), iterator, modifier, eventHandler);
+            getOrCreateState(player).state.addAnimation(animator.name(), iterator, modifier, eventHandler);
             return true;
         }
         return false;
@@ -488,6 +546,15 @@ public final class RenderedBone implements BoneEventHandler {
     public void remove(@NotNull PacketBundler bundler) {
         if (display != null) display.remove(bundler);
         if (nametag != null) nametag.remove(bundler);
+        if (hitBox instanceof PacketHitBox packetHitBox) packetHitBox.remove(bundler);
+    }
+
+    /**
+     * Syncs packet-only hitbox
+     * @param bundler packet bundler
+     */
+    public void syncHitBox(@NotNull PacketBundler bundler) {
+        if (hitBox instanceof PacketHitBox packetHitBox) packetHitBox.sync(bundler);
     }
 
     public @NotNull Stream<RenderedBone> flatten() {
@@ -563,6 +630,14 @@ public final class RenderedBone implements BoneEventHandler {
         return rotation;
     }
 
+    /**
+     * Immutable copy of the movements that other threads read.
+     * @param before before movement
+     * @param current current movement
+     */
+    private record MovementSnapshot(@NotNull BoneMovement before, @NotNull BoneMovement current) {
+    }
+
     final class BoneStateHandler {
         private boolean firstTick = true;
         private boolean skipInterpolation = false;
@@ -570,7 +645,17 @@ public final class RenderedBone implements BoneEventHandler {
         private final Consumer<UUID> consumer;
         private final AnimationStateHandler<AnimationMovement> state;
         private volatile BoneMovement beforeTransform, afterTransform, currentTransform;
+        private volatile MovementSnapshot snapshot = new MovementSnapshot(defaultFrame, defaultFrame);
         private final DisplayTransformer transformer = display != null ? display.createTransformer() : null;
+        //Scratch
+        private final BoneMovement[] movementBuffer = {
+                BoneMovement.empty(),
+                BoneMovement.empty(),
+                BoneMovement.empty()
+        };
+        private final Quaternionf rotationBuffer = new Quaternionf();
+        private final Vector3f positionBuffer = new Vector3f();
+        private final Vector3f scaleBuffer = new Vector3f();
 
         private BoneStateHandler(@Nullable UUID uuid, @NotNull Consumer<UUID> consumer) {
             this.uuid = uuid;
@@ -589,8 +674,11 @@ public final class RenderedBone implements BoneEventHandler {
             return beforeTransform != null ? beforeTransform : (beforeTransform = defaultFrame);
         }
 
-        private @NotNull BoneMovement current() {
-            return currentTransform != null ? currentTransform : after();
+        private @NotNull BoneMovement nextMovement() {
+            for (BoneMovement movement : movementBuffer) {
+                if (movement != beforeTransform && movement != currentTransform) return movement;
+            }
+            return movementBuffer[0];
         }
 
         @NotNull BoneMovement after() {
@@ -598,22 +686,20 @@ public final class RenderedBone implements BoneEventHandler {
             var keyframe = state.afterKeyframe();
             if (keyframe == null) keyframe = AnimationMovement.EMPTY;
             var preventModifierUpdate = interpolationDuration() < 1;
-            var def = defaultFrame.plus(keyframe);
+            var def = defaultFrame.plus(keyframe, nextMovement());
             if (parent != null) {
                 var p = parent.state(uuid).after();
-                def = new BoneMovement(
-                        MathUtil.fma(
-                                        def.position().rotate(p.rotation()),
-                                        p.scale(),
-                                        p.position()
-                                ).sub(parent.lastModifiedPosition)
-                                .add(modifiedPosition(preventModifierUpdate)),
-                        def.scale().mul(p.scale()),
-                        (keyframe.globalRotation() ? new Quaternionf() : p.rotation().div(parent.lastModifiedRotation, new Quaternionf()))
-                                .mul(def.rotation())
-                                .mul(modifiedRotation(preventModifierUpdate)),
-                        def.rawRotation()
-                );
+                MathUtil.fma(
+                                def.position().rotate(p.rotation()),
+                                p.scale(),
+                                p.position()
+                        ).sub(parent.lastModifiedPosition)
+                        .add(modifiedPosition(preventModifierUpdate));
+                def.scale().mul(p.scale());
+                if (!keyframe.globalRotation()) p.rotation()
+                        .div(parent.lastModifiedRotation, rotationBuffer)
+                        .mul(def.rotation(), def.rotation());
+                def.rotation().mul(modifiedRotation(preventModifierUpdate));
             } else {
                 def.position().add(modifiedPosition(preventModifierUpdate));
                 def.rotation().mul(modifiedRotation(preventModifierUpdate));
@@ -623,8 +709,8 @@ public final class RenderedBone implements BoneEventHandler {
             }
         }
 
-        private boolean tick() {
-            var result = state.tick(() -> {
+        private boolean tick(int step) {
+            var result = state.tick(step, () -> {
                 if (uuid != null) {
                     perPlayerState.remove(uuid);
                     consumer.accept(uuid);
@@ -651,22 +737,27 @@ public final class RenderedBone implements BoneEventHandler {
         }
 
         private void sendTransformation(@NotNull PacketBundler bundler) {
-            if (transformer == null) return;
             var boneMovement = after();
             if (currentTransform == boneMovement) return;
+            var before = before();
+            snapshot = new MovementSnapshot(
+                    before == currentTransform ? snapshot.current() : before == defaultFrame ? defaultFrame : before.copy(),
+                    boneMovement.copy()
+            );
             currentTransform = boneMovement;
+            if (transformer == null) return;
             var mul = scale.getAsFloat();
             transformer.transform(
                     interpolationDuration(),
                     MathUtil.fma(
-                            itemStack.offset().rotate(boneMovement.rotation(), new Vector3f())
+                            itemStack.offset().rotate(boneMovement.rotation(), positionBuffer)
                                     .add(boneMovement.position())
                                     .add(root.group.getPosition()),
                             mul,
                             itemStack.position()
                     ).add(defaultPosition.get()),
                     boneMovement.scale()
-                            .mul(itemStack.scale(), new Vector3f())
+                            .mul(itemStack.scale(), scaleBuffer)
                             .mul(mul)
                             .max(EMPTY_VECTOR),
                     boneMovement.rotation(),
@@ -7,6 +7,7 @@
 package kr.toxicity.model.api.data.blueprint;
 
 import kr.toxicity.model.api.animation.AnimationIterator;
+import kr.toxicity.model.api.animation.AnimationKeyframes;
 import kr.toxicity.model.api.animation.AnimationMovement;
 import kr.toxicity.model.api.animation.VectorPoint;
 import org.jetbrains.annotations.NotNull;
@@ -18,13 +19,31 @@ import java.util.stream.Stream;
 /**
  * A movement of each group.
  * @param name group name
- * @param keyframe keyframes
+ * @param keyframes keyframes
  */
 public record BlueprintAnimator(
         @NotNull String name,
-        @NotNull @Unmodifiable List<AnimationMovement> keyframe
+        @NotNull AnimationKeyframes keyframes
 ) {
 
+    /**
+     * Creates animator with packed keyframes
+     * @param name group name
+     * @param keyframe keyframes
+     */
+    public BlueprintAnimator(@NotNull String name, @NotNull @Unmodifiable List<AnimationMovement> keyframe) {
+        this(name, AnimationKeyframes.of(keyframe));
+    }
+
+    /**
+     * @deprecated Use BlueprintAnimator#keyframes instead.
+     * @return keyframes
+     */
+    @Deprecated
+    public @NotNull @Unmodifiable List<AnimationMovement> keyframe() {
+        return keyframes.view();
+    }
+
     /**
      * Animation data
      * @param name name
@@ -61,6 +80,6 @@ public record BlueprintAnimator(
      * @return iterator
      */
     public @NotNull AnimationIterator<AnimationMovement> iterator(@NotNull AnimationIterator.Type type) {
-        return type.create(keyframe);
+        return type.create(keyframes);
     }
 }
@@ -146,6 +146,59 @@ public sealed interface BlueprintElement {
             return list.isEmpty() ? null : list;
         }
 
+        /**
+         * Reserves pack names of legacy json in the same order as building it
+         * @param skipLog skip log
+         * @param obfuscator obfuscator
+         * @param parent parent
+         * @return whether legacy json will be built
+         */
+        public boolean reserveLegacyJson(
+                boolean skipLog,
+                @NotNull PackObfuscator.Pair obfuscator,
+                @NotNull ModelBlueprint parent
+        ) {
+            Predicate<Cube> filter = element -> MathUtil.checkValidDegree(element.identifierDegree());
+            if (!skipLog) filter = filterWithWarning(
+                    filter,
+                    element -> "The model " + parent.name() + "'s cube \"" + element.name() + "\" has an invalid rotation which does not supported in legacy client (<=1.21.3) " + element.rotation()
+            );
+            return reserveJson(1, obfuscator, parent, filterIsInstance(children, Cube.class).filter(filter));
+        }
+
+        /**
+         * Reserves pack names of modern json in the same order as building it
+         * @param obfuscator obfuscator
+         * @param parent parent
+         * @return whether modern json will be built
+         */
+        public boolean reserveModernJson(
+                @NotNull PackObfuscator.Pair obfuscator,
+                @NotNull ModelBlueprint parent
+        ) {
+            return mapIndexed(
+                    group(
+                            filterIsInstance(children, Cube.class),
+                            Cube::identifierDegree
+                    ),
+                    (i, entry) -> reserveJson(i + 1, obfuscator, parent, entry.getValue().stream())
+            ).reduce(false, Boolean::logicalOr);
+        }
+
+        private boolean reserveJson(
+                int number,
+                @NotNull PackObfuscator.Pair obfuscator,
+                @NotNull ModelBlueprint parent,
+                @NotNull Stream<Cube> cubes
+        ) {
+            if (parent.textures().isEmpty() || cubes.filter(Cube::hasTexture).count() == 0) return false;
+            obfuscator.models().obfuscate(jsonName(parent) + "_" + number);
+            for (BlueprintTexture texture : parent.textures()) {
+                texture.packName(obfuscator.textures(), parent.name());
+            }
+            return true;
+        }
+
         private @Nullable BlueprintJson buildJson(
                 int tint,
                 int number,
@@ -13,15 +13,33 @@ import org.jetbrains.annotations.Nullable;
 /**
  * Blueprint image.
  * @param name image name
- * @param image image
+ * @param source image source
  * @param mcmeta mcmeta
  */
-public record BlueprintImage(@NotNull String name, byte[] image, @Nullable JsonObject mcmeta) {
+public record BlueprintImage(@NotNull String name, @NotNull TextureSource source, @Nullable JsonObject mcmeta) {
+    /**
+     * Creates image of loaded bytes
+     * @param name image name
+     * @param image image
+     * @param mcmeta mcmeta
+     */
+    public BlueprintImage(@NotNull String name, byte[] image, @Nullable JsonObject mcmeta) {
+        this(name, TextureSource.of(image), mcmeta);
+    }
+
+    /**
+     * Loads image
+     * @return image
+     */
+    public byte[] image() {
+        return source.load();
+    }
+
     /**
      * Gets estimated size
      * @return estimated size
      */
     public long estimatedSize() {
-        return image.length;
+        return source.size();
     }
 }
@@ -17,7 +17,7 @@ import org.jetbrains.annotations.NotNull;
 /**
  * Texture of the model
  * @param name texture name
- * @param image image
+ * @param source image source
  * @param width original width
  * @param height original height
  * @param uvWidth uv width
@@ -25,12 +25,33 @@ import org.jetbrains.annotations.NotNull;
  */
 public record BlueprintTexture(
         @NotNull String name,
-        byte[] image,
+        @NotNull TextureSource source,
         int width,
         int height,
         int uvWidth,
         int uvHeight
 ) {
+    /**
+     * Creates texture of loaded image
+     * @param name texture name
+     * @param image image
+     * @param width original width
+     * @param height original height
+     * @param uvWidth uv width
+     * @param uvHeight uv height
+     */
+    public BlueprintTexture(@NotNull String name, byte[] image, int width, int height, int uvWidth, int uvHeight) {
+        this(name, TextureSource.of(image), width, height, uvWidth, uvHeight);
+    }
+
+    /**
+     * Loads image of this texture
+     * @return image
+     */
+    public byte[] image() {
+        return source.load();
+    }
+
     /**
      * Checks this texture is animated
      * @return whether to animate
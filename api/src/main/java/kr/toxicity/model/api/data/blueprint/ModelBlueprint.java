@@ -42,7 +42,8 @@ public record ModelBlueprint(
     }
 
     /**
-     * Builds blueprint image
+     * Builds blueprint image.
+     * Images are not loaded until they are written.
      * @param obfuscator obfuscator
      * @return images
      */
@@ -53,7 +54,7 @@ public record ModelBlueprint(
                 .filter(BlueprintTexture::canBeRendered)
                 .map(texture -> new BlueprintImage(
                         texture.packName(obfuscator, name),
-                        texture.image(),
+                        texture.source(),
                         texture.isAnimatedTexture() ? texture.toMcmeta() : null)
                 );
     }
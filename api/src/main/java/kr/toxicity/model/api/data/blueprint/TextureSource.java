@@ -0,0 +1,95 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.data.blueprint;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Image payload of a texture.
+ * <p>
+ * A source may point to a byte range of some file, so the image is only read when it is loaded and released after use.
+ * The sources of imported models stay loadable after a reload, because their images are read into memory before the cache entry is deleted.
+ */
+public interface TextureSource {
+
+    /**
+     * Loads image
+     * @return image
+     */
+    byte[] load();
+
+    /**
+     * Gets image size
+     * @return size
+     */
+    int size();
+
+    /**
+     * Creates source of loaded image
+     * @param image image
+     * @return source
+     */
+    static @NotNull TextureSource of(byte[] image) {
+        return new Loaded(Objects.requireNonNull(image, "image"));
+    }
+
+    /**
+     * Creates source of some byte range in file
+     * @param path file path
+     * @param offset offset of image
+     * @param size size of image
+     * @return source
+     */
+    static @NotNull TextureSource of(@NotNull Path path, long offset, int size) {
+        return new Ranged(Objects.requireNonNull(path, "path"), offset, size);
+    }
+
+    /**
+     * Loaded image
+     * @param image image
+     */
+    record Loaded(byte[] image) implements TextureSource {
+        @Override
+        public byte[] load() {
+            return image;
+        }
+
+        @Override
+        public int size() {
+            return image.length;
+        }
+    }
+
+    /**
+     * Byte range in file
+     * @param path file path
+     * @param offset offset of image
+     * @param size size of image
+     */
+    record Ranged(@NotNull Path path, long offset, int size) implements TextureSource {
+        @Override
+        public byte[] load() {
+            try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                var buffer = ByteBuffer.allocate(size);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, offset + buffer.position()) < 0) throw new EOFException();
+                }
+                return buffer.array();
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to read texture: " + path, e);
+            }
+        }
+    }
+}
@@ -6,7 +6,6 @@
  */
 package kr.toxicity.model.api.data.raw;
 
-import kr.toxicity.model.api.BetterModel;
 import kr.toxicity.model.api.animation.AnimationIterator;
 import kr.toxicity.model.api.animation.AnimationMovement;
 import kr.toxicity.model.api.animation.VectorPoint;
@@ -15,10 +14,7 @@ import kr.toxicity.model.api.data.blueprint.AnimationGenerator;
 import kr.toxicity.model.api.data.blueprint.BlueprintAnimation;
 import kr.toxicity.model.api.data.blueprint.BlueprintAnimator;
 import kr.toxicity.model.api.data.blueprint.BlueprintElement;
-import kr.toxicity.model.api.script.AnimationScript;
 import kr.toxicity.model.api.script.BlueprintScript;
-import kr.toxicity.model.api.script.TimeScript;
-import kr.toxicity.model.api.util.InterpolationUtil;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -74,46 +70,30 @@ public record ModelAnimation(
                 length(),
                 override(),
                 animators,
-                Optional.ofNullable(animators().get("effects"))
-                        .filter(ModelAnimator::isNotEmpty)
-                        .map(a -> toScript(a, context.placeholder))
+                Optional.ofNullable(BlueprintScript.fromSources(name(), loop(), length(), scriptSources(context.placeholder)))
                         .orElseGet(() -> BlueprintScript.fromEmpty(this)),
                 animators.isEmpty() ? AnimationMovement.withEmpty(length()) : animators.values()
                         .iterator()
                         .next()
-                        .keyframe()
+                        .keyframes()
                         .stream()
                         .map(AnimationMovement::empty)
                         .toList()
         );
     }
 
-    private @Nullable BlueprintScript toScript(@NotNull ModelAnimator animator, @NotNull ModelPlaceholder placeholder) {
-        var get = animator.stream()
+    /**
+     * Gets script sources of effects animator
+     * @param placeholder placeholder
+     * @return script sources
+     */
+    public @NotNull List<BlueprintScript.Source> scriptSources(@NotNull ModelPlaceholder placeholder) {
+        var effects = animators().get("effects");
+        if (effects == null || !effects.isNotEmpty()) return Collections.emptyList();
+        return effects.stream()
                 .filter(f -> f.point().hasScript())
-                .map(d -> AnimationScript.of(Arrays.stream(placeholder.parseVariable(d.point().script()).split("\n"))
-                        .map(BetterModel.plugin().scriptManager()::build)
-                        .filter(Objects::nonNull)
-                        .toList()
-                ).time(d.time()))
+                .map(d -> new BlueprintScript.Source(d.time(), placeholder.parseVariable(d.point().script())))
                 .toList();
-        if (get.isEmpty()) return null;
-        var list = new ArrayList<TimeScript>(get.size() + 2);
-        if (get.getFirst().time() > 0) list.add(TimeScript.EMPTY);
-        var before = 0F;
-        for (TimeScript timeScript : get) {
-            var t = timeScript.time();
-            list.add(timeScript.time(InterpolationUtil.roundTime(t - before)));
-            before = t;
-        }
-        var len = InterpolationUtil.roundTime(length() - before);
-        if (len > 0) list.add(AnimationScript.EMPTY.time(len));
-        return new BlueprintScript(
-                name(),
-                loop(),
-                length(),
-                list
-        );
     }
 
     /**
@@ -44,7 +44,8 @@ public record ModelData(
         @Nullable @SerializedName("animation_variable_placeholders") ModelPlaceholder placeholder
 ) {
     /**
-     * Gson parser
+     * Gson parser.
+     * Models are streamed, so textures are decoded as they are read and unknown fields are skipped without building a tree.
      */
     public static final Gson GSON = new GsonBuilder()
             .registerTypeAdapter(Float3.class, Float3.PARSER)
@@ -53,6 +54,7 @@ public record ModelData(
             .registerTypeAdapter(ModelChildren.class, ModelChildren.PARSER)
             .registerTypeAdapter(ModelPlaceholder.class, ModelPlaceholder.PARSER)
             .registerTypeAdapter(ModelElement.class, ModelElement.PARSER)
+            .registerTypeAdapter(ModelTexture.class, ModelTexture.PARSER)
             .create();
 
     /**
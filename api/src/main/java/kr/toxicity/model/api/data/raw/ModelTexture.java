@@ -6,17 +6,21 @@
  */
 package kr.toxicity.model.api.data.raw;
 
-import com.google.gson.annotations.SerializedName;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import kr.toxicity.model.api.data.blueprint.BlueprintTexture;
+import kr.toxicity.model.api.data.blueprint.TextureSource;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
 import java.util.Base64;
 
 /**
  * A raw model texture.
  * @param name texture's name
- * @param source texture's base64-encoded byte array
+ * @param source texture's image
  * @param width width
  * @param height height
  * @param uvWidth uv-width
@@ -25,12 +29,56 @@ import java.util.Base64;
 @ApiStatus.Internal
 public record ModelTexture(
         @NotNull String name,
-        @NotNull String source,
+        @NotNull TextureSource source,
         int width,
         int height,
-        @SerializedName("uv_width") int uvWidth,
-        @SerializedName("uv_height") int uvHeight
+        int uvWidth,
+        int uvHeight
 ) {
+    /**
+     * Parser.
+     * It streams a texture object, decodes its base64 payload as soon as it is read and skips UI-only fields.
+     */
+    public static final TypeAdapter<ModelTexture> PARSER = new TypeAdapter<ModelTexture>() {
+        @Override
+        public void write(JsonWriter out, ModelTexture value) throws IOException {
+            out.beginObject()
+                    .name("name").value(value.name())
+                    .name("source").value("data:image/png;base64," + Base64.getEncoder().encodeToString(value.source().load()))
+                    .name("width").value(value.width())
+                    .name("height").value(value.height())
+                    .name("uv_width").value(value.uvWidth())
+                    .name("uv_height").value(value.uvHeight())
+                    .endObject();
+        }
+
+        @Override
+        public ModelTexture read(JsonReader in) throws IOException {
+            String name = null;
+            byte[] image = null;
+            int width = 0, height = 0, uvWidth = 0, uvHeight = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name" -> name = in.nextString();
+                    case "source" -> {
+                        var source = in.nextString();
+                        image = Base64.getDecoder().decode(source.substring(source.indexOf(',') + 1));
+                    }
+                    case "width" -> width = in.nextInt();
+                    case "height" -> height = in.nextInt();
+                    case "uv_width" -> uvWidth = in.nextInt();
+                    case "uv_height" -> uvHeight = in.nextInt();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            if (name == null) throw new RuntimeException("Texture name not found.");
+            if (image == null) throw new RuntimeException("Texture source not found: " + name);
+            return new ModelTexture(name, TextureSource.of(image), width, height, uvWidth, uvHeight);
+        }
+    }.nullSafe();
+
     /**
      * Converts this texture to blueprint textures
      * @return converted textures
@@ -39,7 +87,7 @@ public record ModelTexture(
         var nameIndex = name().indexOf('.');
         return new BlueprintTexture(
                 nameIndex >= 0 ? name().substring(0, nameIndex) : name(),
-                Base64.getDecoder().decode(source().substring(source().indexOf(',') + 1)),
+                source(),
                 width(),
                 height(),
                 uvWidth(),
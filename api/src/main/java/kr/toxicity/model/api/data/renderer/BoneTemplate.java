@@ -0,0 +1,121 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.data.renderer;
+
+import kr.toxicity.model.api.BetterModel;
+import kr.toxicity.model.api.bone.BoneItemMapper;
+import kr.toxicity.model.api.bone.BoneMovement;
+import kr.toxicity.model.api.data.blueprint.ModelBoundingBox;
+import kr.toxicity.model.api.data.blueprint.NamedBoundingBox;
+import kr.toxicity.model.api.util.MathUtil;
+import kr.toxicity.model.api.util.TransformedItemStack;
+import lombok.Getter;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable per-renderer data of a bone.
+ * <p>
+ * Everything a rendered bone derives from its group is baked once here, so creating a tracker only builds the mutable per-instance state.
+ * Nothing in a template may be mutated by a rendered bone.
+ */
+@ApiStatus.Internal
+public final class BoneTemplate {
+
+    private static final Vector3f DEFAULT_SCALE = new Vector3f(1);
+
+    @Getter
+    private final @NotNull RendererGroup group;
+    @Getter
+    private final @NotNull BoneMovement movement;
+    @Getter
+    private final @NotNull TransformedItemStack itemStack;
+    @Getter
+    private final boolean dummy;
+    @Getter
+    private final boolean visible;
+    @Getter
+    private final @NotNull ItemDisplay.ItemDisplayTransform transform;
+    @Getter
+    private final @NotNull NamedBoundingBox hitBox;
+    @Getter
+    @Unmodifiable
+    private final @NotNull List<BoneTemplate> children;
+    private final int[] parentIndices;
+
+    private volatile ItemStack defaultTintedItem;
+
+    BoneTemplate(@NotNull RendererGroup group, @Nullable RendererGroup parentGroup) {
+        this.group = group;
+        var position = group.getPosition();
+        var rotation = group.getRotation();
+        movement = new BoneMovement(
+                parentGroup != null ? position.sub(parentGroup.getPosition(), new Vector3f()) : new Vector3f(),
+                DEFAULT_SCALE,
+                MathUtil.toQuaternion(rotation),
+                rotation
+        );
+        itemStack = group.getItemStack();
+        dummy = itemStack.isAir() && group.getItemMapper() == BoneItemMapper.EMPTY;
+        visible = group.getParent().visibility();
+        transform = group.getItemMapper().transform();
+        var box = group.getHitBox();
+        hitBox = box != null ? box : ModelBoundingBox.MIN.named(group.name());
+        children = group.getChildren()
+                .values()
+                .stream()
+                .map(child -> new BoneTemplate(child, group))
+                .toList();
+        var indices = new ArrayList<Integer>();
+        indices.add(-1);
+        for (BoneTemplate child : children) {
+            var offset = indices.size();
+            for (int index : child.parentIndices) {
+                indices.add(index < 0 ? 0 : index + offset);
+            }
+        }
+        parentIndices = indices.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Gets the number of bones in this template's tree
+     * @return size
+     */
+    public int size() {
+        return parentIndices.length;
+    }
+
+    /**
+     * Gets the parent index of a bone in this template's depth-first order
+     * @param index bone index
+     * @return parent index or -1 if root
+     */
+    public int parentIndex(int index) {
+        return parentIndices[index];
+    }
+
+    /**
+     * Gets the default tinted item of this template
+     * @return tinted item
+     */
+    public @NotNull ItemStack defaultTintedItem() {
+        var item = defaultTintedItem;
+        if (item != null) return item;
+        synchronized (this) {
+            if (defaultTintedItem != null) return defaultTintedItem;
+            return defaultTintedItem = BetterModel.nms().tint(itemStack.itemStack(), 0xFFFFFF);
+        }
+    }
+}
@@ -42,11 +42,13 @@ public final class RenderPipeline implements BoneEventHandler {
     @Getter
     private final RenderSource<?> source;
 
-    private final Map<BoneName, RenderedBone> boneMap;
     private final Map<BoneName, RenderedBone> flattenBoneMap;
+    private final RenderedBone[] flattenBones;
+    private final int[] parentIndices;
     private final int displayAmount;
     private final Map<UUID, PlayerChannelHandler> playerMap = new ConcurrentHashMap<>();
     private final Set<UUID> hidePlayerSet = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Set<RenderedBone>> playerStateMap = new ConcurrentHashMap<>();
 
     private final BoneEventDispatcher eventDispatcher = new BoneEventDispatcher();
     private final BoneIKSolver ikSolver;
@@ -69,13 +71,14 @@ public final class RenderPipeline implements BoneEventHandler {
     ) {
         this.parent = parent;
         this.source = source;
-        this.boneMap = boneMap;
         //Bone
+        flattenBones = boneMap.values()
+                .stream()
+                .flatMap(RenderedBone::flatten)
+                .toArray(RenderedBone[]::new);
+        parentIndices = parentIndices(boneMap.values(), flattenBones.length);
         flattenBoneMap = associate(
-                boneMap.values()
-                        .stream()
-                        .flatMap(RenderedBone::flatten)
-                        .peek(bone -> bone.extend(this)),
+                Arrays.stream(flattenBones).peek(bone -> bone.extend(this)),
                 RenderedBone::name
         );
         ikSolver = new BoneIKSolver(associate(flattenBoneMap.values(), RenderedBone::uuid));
@@ -83,6 +86,27 @@ public final class RenderPipeline implements BoneEventHandler {
                 .peek(bone -> bone.locator(ikSolver))
                 .filter(rb -> rb.getDisplay() != null)
                 .count();
+        eventDispatcher.handleStateCreate((bone, uuid) -> playerStateMap.computeIfAbsent(uuid, u -> ConcurrentHashMap.newKeySet()).add(bone));
+        eventDispatcher.handleStateRemove((bone, uuid) -> playerStateMap.computeIfPresent(uuid, (u, set) -> {
+            set.remove(bone);
+            if (!set.isEmpty()) return set;
+            ikSolver.clear(u);
+            return null;
+        }));
+    }
+
+    private static int @NotNull [] parentIndices(@NotNull Collection<RenderedBone> roots, int size) {
+        var indices = new int[size];
+        var offset = 0;
+        for (RenderedBone root : roots) {
+            var template = root.getTemplate();
+            for (int i = 0; i < template.size(); i++) {
+                var parentIndex = template.parentIndex(i);
+                indices[offset + i] = parentIndex < 0 ? -1 : offset + parentIndex;
+            }
+            offset += template.size();
+        }
+        return indices;
     }
 
     public @NotNull PacketBundler createBundler() {
@@ -151,25 +175,68 @@ public final class RenderPipeline implements BoneEventHandler {
     public boolean rotate(@NotNull ModelRotation rotation, @NotNull PacketBundler bundler) {
         if (rotation.equals(this.rotation)) return false;
         this.rotation = rotation;
-        return matchTree(b -> b.rotate(rotation, bundler));
+        var result = false;
+        for (RenderedBone bone : flattenBones) {
+            if (bone.rotate(rotation, bundler)) result = true;
+        }
+        return result;
     }
 
     public boolean tick(@NotNull PacketBundler bundler) {
-        var match = matchTree(RenderedBone::tick);
+        return tick(1, bundler);
+    }
+
+    public boolean tick(int step, @NotNull PacketBundler bundler) {
+        return tick(step, bundler, bundler, null);
+    }
+
+    /**
+     * Ticks shared state of all bones
+     * <p>
+     * The transformations of bones that some player has its own state of are written to another bundler,
+     * so they can be filtered for that player.
+     * @param step elapsed frames
+     * @param bundler packet bundler
+     * @param overlaidBundler packet bundler of overlaid bones
+     * @param overlaidBones nullable collection to put the overlaid bones whose transformation is sent
+     * @return whether some bone was ticked
+     */
+    public boolean tick(int step, @NotNull PacketBundler bundler, @NotNull PacketBundler overlaidBundler, @Nullable Collection<RenderedBone> overlaidBones) {
+        var match = false;
+        for (RenderedBone bone : flattenBones) {
+            if (bone.tick(step)) match = true;
+        }
         if (match) {
             ikSolver.solve();
-            iterateTree(b -> b.sendTransformation(null, bundler));
+            for (RenderedBone bone : flattenBones) {
+                if (!bone.hasState()) {
+                    bone.sendTransformation(null, bundler);
+                    continue;
+                }
+                var size = overlaidBundler.size();
+                bone.sendTransformation(null, overlaidBundler);
+                if (overlaidBones != null && overlaidBundler.size() > size) overlaidBones.add(bone);
+            }
         }
         return match;
     }
 
     public boolean tick(@NotNull UUID uuid, @NotNull PacketBundler bundler) {
-        var match = matchTree(b -> b.tick(uuid));
-        if (match) {
-            ikSolver.solve(uuid);
-            iterateTree(b -> b.sendTransformation(uuid, bundler));
+        return tick(uuid, 1, bundler);
+    }
+
+    public boolean tick(@NotNull UUID uuid, int step, @NotNull PacketBundler bundler) {
+        var bones = playerStateMap.get(uuid);
+        if (bones == null) return false;
+        var match = false;
+        for (RenderedBone bone : bones) {
+            if (bone.tick(uuid, step)) match = true;
         }
-        return match;
+        if (match) ikSolver.solve(uuid);
+        for (RenderedBone bone : bones) {
+            bone.sendPlayerTransformation(uuid, bundler);
+        }
+        return match || bundler.isNotEmpty();
     }
 
     public void defaultPosition(@NotNull Supplier<Vector3f> movement) {
@@ -248,8 +315,13 @@ public final class RenderPipeline implements BoneEventHandler {
         Objects.requireNonNull(predicate);
         Objects.requireNonNull(mapper);
         var result = false;
-        for (RenderedBone value : boneMap.values()) {
-            if (value.matchTree(predicate, mapper)) result = true;
+        var childPredicates = new BonePredicate[flattenBones.length];
+        for (int i = 0; i < flattenBones.length; i++) {
+            var parentIndex = parentIndices[i];
+            var bonePredicate = parentIndex < 0 ? predicate : childPredicates[parentIndex];
+            var match = mapper.test(flattenBones[i], bonePredicate);
+            childPredicates[i] = bonePredicate.children(match);
+            if (match) result = true;
         }
         return result;
     }
@@ -258,8 +330,13 @@ public final class RenderPipeline implements BoneEventHandler {
         Objects.requireNonNull(predicate);
         Objects.requireNonNull(mapper);
         var result = false;
-        for (RenderedBone value : boneMap.values()) {
-            if (value.matchTree(predicate, mapper)) result = true;
+        var childPredicates = new AnimationPredicate[flattenBones.length];
+        for (int i = 0; i < flattenBones.length; i++) {
+            var parentIndex = parentIndices[i];
+            var bonePredicate = parentIndex < 0 ? predicate : childPredicates[parentIndex];
+            var match = mapper.test(flattenBones[i], bonePredicate);
+            childPredicates[i] = match ? bonePredicate.children() : bonePredicate;
+            if (match) result = true;
         }
         return result;
     }
@@ -267,16 +344,16 @@ public final class RenderPipeline implements BoneEventHandler {
     public boolean matchTree(@NotNull Predicate<RenderedBone> predicate) {
         Objects.requireNonNull(predicate);
         var result = false;
-        for (RenderedBone value : boneMap.values()) {
-            if (value.matchTree(predicate)) result = true;
+        for (RenderedBone bone : flattenBones) {
+            if (predicate.test(bone)) result = true;
         }
         return result;
     }
 
     public void iterateTree(@NotNull Consumer<RenderedBone> consumer) {
         Objects.requireNonNull(consumer);
-        for (RenderedBone value : boneMap.values()) {
-            value.iterateTree(consumer);
+        for (RenderedBone bone : flattenBones) {
+            consumer.accept(bone);
         }
     }
 
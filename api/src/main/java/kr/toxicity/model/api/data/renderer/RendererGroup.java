@@ -12,8 +12,8 @@ import kr.toxicity.model.api.data.blueprint.BlueprintElement;
 import kr.toxicity.model.api.data.blueprint.NamedBoundingBox;
 import kr.toxicity.model.api.mount.MountController;
 import kr.toxicity.model.api.mount.MountControllers;
-import kr.toxicity.model.api.util.MathUtil;
 import kr.toxicity.model.api.util.TransformedItemStack;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.Material;
@@ -27,19 +27,17 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Stream;
 
-import static kr.toxicity.model.api.util.CollectionUtil.mapValue;
-
 /**
  * A group of models.
  */
 @RequiredArgsConstructor
 public final class RendererGroup {
 
-    private static final Vector3f DEFAULT_SCALE = new Vector3f(1);
     @Getter
     private final BlueprintElement.Bone parent;
     @Getter
     private final Vector3f position;
+    @Getter(AccessLevel.PACKAGE)
     private final Vector3f rotation;
     private final TransformedItemStack itemStack;
     @Getter
@@ -54,6 +52,8 @@ public final class RendererGroup {
     @Getter
     private final @NotNull MountController mountController;
 
+    private volatile BoneTemplate template;
+
     /**
      * Creates group instance.
      * @param scale scale
@@ -117,21 +117,20 @@ public final class RendererGroup {
      * @return entity
      */
     public @NotNull RenderedBone create(@NotNull RenderSource<?> source) {
-        return create(source, null);
+        return new RenderedBone(template(), null, source);
     }
-    private @NotNull RenderedBone create(@NotNull RenderSource<?> source, @Nullable RenderedBone parentBone) {
-        return new RenderedBone(
-                this,
-                parentBone,
-                source,
-                new BoneMovement(
-                        parentBone != null ? position.sub(parentBone.getGroup().position, new Vector3f()) : new Vector3f(),
-                        DEFAULT_SCALE,
-                        MathUtil.toQuaternion(rotation),
-                        rotation
-                ),
-                parent -> mapValue(children, value -> value.create(source, parent))
-        );
+
+    /**
+     * Gets the template of this group as a root bone.
+     * @return template
+     */
+    public @NotNull BoneTemplate template() {
+        var get = template;
+        if (get != null) return get;
+        synchronized (this) {
+            if (template != null) return template;
+            return template = new BoneTemplate(this, null);
+        }
     }
 
     /**
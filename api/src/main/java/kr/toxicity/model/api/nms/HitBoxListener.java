@@ -36,12 +36,12 @@ public interface HitBoxListener {
      * @return listener builder
      */
     default @NotNull Builder toBuilder() {
-        return new Builder()
-                .sync(this::sync)
+        Builder builder = new Builder()
                 .damage(this::damage)
                 .remove(this::remove)
                 .mount(this::mount)
                 .dismount(this::dismount);
+        return hasSync() ? builder.sync(this::sync) : builder;
     }
 
     /**
@@ -128,6 +128,11 @@ public interface HitBoxListener {
                     sync.accept(hitBox);
                 }
 
+                @Override
+                public boolean hasSync() {
+                    return sync != DEFAULT_SYNC;
+                }
+
                 @Override
                 public boolean damage(@NotNull HitBox hitBox, @NotNull ModelDamageSource source, double damage) {
                     return Builder.this.damage.event(hitBox, source, damage);
@@ -181,6 +186,14 @@ public interface HitBoxListener {
      */
     void sync(@NotNull HitBox hitBox);
 
+    /**
+     * Checks this listener listens to hit-box tick
+     * @return has sync listener
+     */
+    default boolean hasSync() {
+        return true;
+    }
+
     /**
      * Listens to hit-box damage
      * @param hitBox target hit-box
@@ -150,6 +150,17 @@ public interface NMS {
      */
     @Nullable HitBox createHitBox(@NotNull BaseEntity entity, @NotNull RenderedBone bone, @NotNull NamedBoundingBox namedBoundingBox, @NotNull MountController controller, @NotNull HitBoxListener listener);
 
+    /**
+     * Creates packet-only hit-box of target entity
+     * @param entity target entity
+     * @param bone following bone
+     * @param namedBoundingBox bounding box
+     * @param controller mount controller
+     * @param listener hitbox listener
+     * @return hit-box
+     */
+    @Nullable PacketHitBox createPacketHitBox(@NotNull BaseEntity entity, @NotNull RenderedBone bone, @NotNull NamedBoundingBox namedBoundingBox, @NotNull MountController controller, @NotNull HitBoxListener listener);
+
     /**
      * Gets Spigot-mapped version of Minecraft vanilla code.
      * @return version
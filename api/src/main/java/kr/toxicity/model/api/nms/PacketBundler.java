@@ -9,6 +9,8 @@ package kr.toxicity.model.api.nms;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+
 /**
  * A packet bundler
  */
@@ -47,4 +49,24 @@ public interface PacketBundler {
      * @param onSuccess listener on success
      */
     void send(@NotNull Player player, @NotNull Runnable onSuccess);
+
+    /**
+     * Sends all packets to players.
+     * The implementation may encode packets once and share the same bytes with all players.
+     * @param players target players
+     */
+    default void send(@NotNull Collection<Player> players) {
+        for (Player player : players) {
+            send(player);
+        }
+    }
+
+    /**
+     * Clears all packets to reuse this bundler.
+     * It fails while some sent packet is still being written.
+     * @return success or not
+     */
+    default boolean reset() {
+        return false;
+    }
 }
@@ -0,0 +1,47 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.nms;
+
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Hit-box which only exists as packets.
+ * <p>
+ * It is not ticked by the server and cannot be mounted.
+ * Its geometry is kept on the model side, and a fake interaction entity is sent to players.
+ */
+public interface PacketHitBox extends HitBox {
+
+    /**
+     * Gets world bounding box of the bone's rotated box
+     * @return bounding box
+     */
+    @NotNull BoundingBox boundingBox();
+
+    /**
+     * Spawns this hitbox
+     * @param bundler bundler
+     */
+    @ApiStatus.Internal
+    void spawn(@NotNull PacketBundler bundler);
+
+    /**
+     * Syncs the position and size of this hitbox
+     * @param bundler bundler
+     */
+    @ApiStatus.Internal
+    void sync(@NotNull PacketBundler bundler);
+
+    /**
+     * Removes this hitbox
+     * @param bundler bundler
+     */
+    @ApiStatus.Internal
+    void remove(@NotNull PacketBundler bundler);
+}
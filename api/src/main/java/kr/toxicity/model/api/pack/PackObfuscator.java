@@ -79,7 +79,7 @@ public interface PackObfuscator {
         private Order() {
         }
 
-        public @NotNull String obfuscate(@NotNull String rawName) {
+        public synchronized @NotNull String obfuscate(@NotNull String rawName) {
             return nameMap.computeIfAbsent(rawName, n -> {
                 var size = nameMap.size();
                 builder.setLength(0);
@@ -17,6 +17,14 @@ import java.security.MessageDigest;
 import java.util.*;
 import java.util.stream.Stream;
 
+/**
+ * A result of pack generation.
+ * <p>
+ * When the pack is streamed into a zip file, entries are written without being kept in memory.
+ * In that case {@link #stream()}, {@link #assets()} and {@link #overlays(PackOverlay)} are empty,
+ * while {@link #size()} and {@link #hash()} still describe every written entry.
+ * Use {@link #isStreamed()} to tell these cases apart.
+ */
 @RequiredArgsConstructor
 public final class PackResult {
     private final PackMeta meta;
@@ -28,6 +36,8 @@ public final class PackResult {
     private final long creationTime = System.currentTimeMillis();
     private boolean frozen = false;
     private boolean changed = false;
+    private boolean streamed = false;
+    private int streamedSize = 0;
     private UUID uuid;
 
     @ApiStatus.Internal
@@ -44,6 +54,14 @@ public final class PackResult {
         }
     }
 
+    @ApiStatus.Internal
+    public void streamed(int size, @NotNull UUID hash) {
+        if (frozen) throw new IllegalStateException("result is frozen.");
+        streamed = true;
+        streamedSize = size;
+        uuid = hash;
+    }
+
     public void freeze() {
         freeze(false);
     }
@@ -81,14 +99,31 @@ public final class PackResult {
         }
     }
 
+    /**
+     * Checks this result was streamed into a zip file without keeping its entries
+     * @return streamed
+     */
+    public boolean isStreamed() {
+        return streamed;
+    }
+
+    /**
+     * Gets the number of entries in this pack, including streamed entries
+     * @return size
+     */
     public int size() {
-        return assets.size() + overlays.values().stream().mapToInt(Set::size).sum();
+        return streamedSize + assets.size() + overlays.values().stream().mapToInt(Set::size).sum();
     }
 
     public long time() {
         return System.currentTimeMillis() - creationTime;
     }
 
+    /**
+     * Gets kept entries of overlay, which are empty if this result is streamed
+     * @param overlay overlay
+     * @return entries
+     */
     @NotNull
     @Unmodifiable
     public Set<PackByte> overlays(@NotNull PackOverlay overlay) {
@@ -96,6 +131,10 @@ public final class PackResult {
         return get != null ? Collections.unmodifiableSet(get) : Collections.emptySet();
     }
 
+    /**
+     * Streams all kept entries, which are empty if this result is streamed
+     * @return entry stream
+     */
     public @NotNull Stream<PackByte> stream() {
         return Stream.concat(
                 overlays.values().stream().flatMap(Collection::stream),
@@ -103,6 +142,10 @@ public final class PackResult {
         );
     }
 
+    /**
+     * Gets kept entries outside of overlays, which are empty if this result is streamed
+     * @return entries
+     */
     @NotNull
     @Unmodifiable
     public Set<PackByte> assets() {
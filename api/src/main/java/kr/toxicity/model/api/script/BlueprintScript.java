@@ -6,13 +6,19 @@
  */
 package kr.toxicity.model.api.script;
 
+import kr.toxicity.model.api.BetterModel;
 import kr.toxicity.model.api.animation.AnimationIterator;
 import kr.toxicity.model.api.animation.AnimationModifier;
 import kr.toxicity.model.api.data.raw.ModelAnimation;
+import kr.toxicity.model.api.util.InterpolationUtil;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * A script data of blueprint.
@@ -30,14 +36,71 @@ public record BlueprintScript(@NotNull String name, @NotNull AnimationIterator.T
      * @return empty script
      */
     public static @NotNull BlueprintScript fromEmpty(@NotNull ModelAnimation animation) {
+        return fromEmpty(animation.name(), animation.loop(), animation.length());
+    }
+
+    /**
+     * Creates empty script
+     * @param name script name
+     * @param type type
+     * @param length playtime
+     * @return empty script
+     */
+    public static @NotNull BlueprintScript fromEmpty(@NotNull String name, @NotNull AnimationIterator.Type type, float length) {
+        return new BlueprintScript(
+                name,
+                type,
+                length,
+                List.of(TimeScript.EMPTY, AnimationScript.EMPTY.time(length))
+        );
+    }
+
+    /**
+     * Creates script from raw sources
+     * @param name script name
+     * @param type type
+     * @param length playtime
+     * @param sources sources sorted by time
+     * @return script or null if sources are empty
+     */
+    public static @Nullable BlueprintScript fromSources(@NotNull String name, @NotNull AnimationIterator.Type type, float length, @NotNull List<Source> sources) {
+        if (sources.isEmpty()) return null;
+        var list = new ArrayList<TimeScript>(sources.size() + 2);
+        if (sources.getFirst().time() > 0) list.add(TimeScript.EMPTY);
+        var before = 0F;
+        for (Source source : sources) {
+            var t = source.time();
+            list.add(source.build().time(InterpolationUtil.roundTime(t - before)));
+            before = t;
+        }
+        var len = InterpolationUtil.roundTime(length - before);
+        if (len > 0) list.add(AnimationScript.EMPTY.time(len));
         return new BlueprintScript(
-                animation.name(),
-                animation.loop(),
-                animation.length(),
-                List.of(TimeScript.EMPTY, AnimationScript.EMPTY.time(animation.length()))
+                name,
+                type,
+                length,
+                list
         );
     }
 
+    /**
+     * Raw script source of keyframe
+     * @param time keyframe time
+     * @param script script with parsed placeholder
+     */
+    public record Source(float time, @NotNull String script) {
+        /**
+         * Builds script by script manager
+         * @return animation script
+         */
+        public @NotNull AnimationScript build() {
+            return AnimationScript.of(Arrays.stream(script.split("\n"))
+                    .map(BetterModel.plugin().scriptManager()::build)
+                    .filter(Objects::nonNull)
+                    .toList());
+        }
+    }
+
     /**
      * Creates animation iterator of this script
      * @return animation iterator
@@ -67,7 +67,7 @@ public final class EntityBodyRotator {
                 entity.bodyYaw()
         );
         this.provider = new LazyFloatProvider(entity.bodyYaw(), () -> rotationDuration * MathUtil.MINECRAFT_TICK_MILLS);
-        headSupplier = LazyFloatProvider.ofVector(Tracker.TRACKER_TICK_INTERVAL, () -> 4 * MathUtil.MINECRAFT_TICK_MILLS, () -> {
+        headSupplier = LazyFloatProvider.ofVector(1, () -> 4 * MathUtil.MINECRAFT_TICK_MILLS, () -> {
             var value = bodyRotation().y() - entity.headYaw();
             if (value > 180) value -= 360;
             else if (value < -180) value += 360;
@@ -77,7 +77,7 @@ public final class EntityBodyRotator {
                     0
             );
         });
-        bodySupplier = FunctionUtil.throttleTick(() -> new ModelRotation(
+        bodySupplier = FunctionUtil.throttleFrame(() -> new ModelRotation(
                 entity.pitch(),
                 bodyRotation0()
         ));
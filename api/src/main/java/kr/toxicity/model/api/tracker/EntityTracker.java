@@ -75,7 +75,7 @@ public class EntityTracker extends Tracker {
         bodyRotator = new EntityBodyRotator(registry);
 
         var entity = registry.entity();
-        var scale = FunctionUtil.throttleTickFloat(() -> scaler().scale(this));
+        var scale = FunctionUtil.throttleFrameFloat(() -> scaler().scale(this));
         //Shadow
         Optional.ofNullable(bone("shadow"))
                 .ifPresent(bone -> {
@@ -100,7 +100,7 @@ public class EntityTracker extends Tracker {
                 });
 
         //Animation
-        pipeline.defaultPosition(FunctionUtil.throttleTick(() -> entity.passengerPosition().mul(-1)));
+        pipeline.defaultPosition(FunctionUtil.throttleFrame(() -> entity.passengerPosition().mul(-1)));
         pipeline.scale(scale);
         Function<Quaternionf, Quaternionf> headRotator = r -> r.mul(MathUtil.toQuaternion(bodyRotator.headRotation()));
         pipeline.addRotationModifier(
@@ -112,12 +112,12 @@ public class EntityTracker extends Tracker {
                 headRotator
         );
 
-        var damageTickProvider = FunctionUtil.throttleTickFloat(entity::damageTick);
-        var walkSupplier = FunctionUtil.throttleTickBoolean(() -> entity.onWalk() || damageTickProvider.getAsFloat() > 0.25 || pipeline.bones().stream().anyMatch(e -> {
+        var damageTickProvider = FunctionUtil.throttleFrameFloat(entity::damageTick);
+        var walkSupplier = FunctionUtil.throttleFrameBoolean(() -> entity.onWalk() || damageTickProvider.getAsFloat() > 0.25 || pipeline.bones().stream().anyMatch(e -> {
             var hitBox = e.getHitBox();
             return hitBox != null && hitBox.onWalk();
         }));
-        var walkSpeedSupplier = modifier.damageAnimation() ? FunctionUtil.throttleTickFloat(() -> entity.walkSpeed() + (float) Math.sqrt(damageTickProvider.getAsFloat())) : null;
+        var walkSpeedSupplier = modifier.damageAnimation() ? FunctionUtil.throttleFrameFloat(() -> entity.walkSpeed() + (float) Math.sqrt(damageTickProvider.getAsFloat())) : null;
         animate("walk", new AnimationModifier(walkSupplier, 6, 0, AnimationIterator.Type.LOOP, walkSpeedSupplier));
         animate("idle_fly", new AnimationModifier(entity::fly, 6, 0, AnimationIterator.Type.LOOP, null));
         animate("walk_fly", new AnimationModifier(() -> entity.fly() && walkSupplier.getAsBoolean(), 6, 0, AnimationIterator.Type.LOOP, walkSpeedSupplier));
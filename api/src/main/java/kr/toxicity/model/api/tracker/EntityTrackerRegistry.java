@@ -10,10 +10,6 @@ import com.google.common.collect.ImmutableList;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
-import it.unimi.dsi.fastutil.ints.Int2ReferenceMap;
-import it.unimi.dsi.fastutil.ints.Int2ReferenceOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2ReferenceMap;
-import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
 import kr.toxicity.model.api.BetterModel;
 import kr.toxicity.model.api.bone.RenderedBone;
 import kr.toxicity.model.api.config.DebugConfig;
@@ -21,9 +17,11 @@ import kr.toxicity.model.api.entity.BaseEntity;
 import kr.toxicity.model.api.entity.BasePlayer;
 import kr.toxicity.model.api.nms.*;
 import kr.toxicity.model.api.util.CollectionUtil;
+import kr.toxicity.model.api.util.ConcurrentInt2ReferenceMap;
+import kr.toxicity.model.api.util.EntityIdFilter;
 import kr.toxicity.model.api.util.LogUtil;
 import kr.toxicity.model.api.util.ThreadUtil;
-import kr.toxicity.model.api.util.lock.DuplexLock;
+import kr.toxicity.model.api.util.ViewerIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import org.bukkit.NamespacedKey;
@@ -36,6 +34,7 @@ import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -49,14 +48,20 @@ import java.util.stream.Stream;
 @ToString(onlyExplicitlyIncluded = true)
 public final class EntityTrackerRegistry {
 
-    private static final Object2ReferenceMap<UUID, EntityTrackerRegistry> UUID_REGISTRY_MAP = new Object2ReferenceOpenHashMap<>();
-    private static final Int2ReferenceMap<EntityTrackerRegistry> ID_REGISTRY_MAP = new Int2ReferenceOpenHashMap<>();
-    private static final DuplexLock REGISTRY_LOCK = new DuplexLock();
+    private static final Map<UUID, EntityTrackerRegistry> UUID_REGISTRY_MAP = new ConcurrentHashMap<>();
+    private static final ConcurrentInt2ReferenceMap<EntityTrackerRegistry> ID_REGISTRY_MAP = new ConcurrentInt2ReferenceMap<>();
+    private static final ViewerIndex<EntityTrackerRegistry> VIEWER_INDEX = new ViewerIndex<>();
     /**
      * Tracker's namespace.
      */
     @NotNull
     public static final NamespacedKey TRACKING_ID = Objects.requireNonNull(NamespacedKey.fromString("bettermodel_tracker"));
+    /**
+     * Ids of entities which have a registry or a hitbox.
+     */
+    @ApiStatus.Internal
+    @NotNull
+    public static final EntityIdFilter TRACKED_ID_FILTER = new EntityIdFilter();
 
     @ToString.Include
     private final AtomicBoolean closed = new AtomicBoolean();
@@ -68,7 +73,7 @@ public final class EntityTrackerRegistry {
     private final ConcurrentNavigableMap<String, EntityTracker> trackerMap = new ConcurrentSkipListMap<>();
     @ToString.Include
     private final Collection<EntityTracker> trackers = Collections.unmodifiableCollection(trackerMap.values());
-    private final Map<UUID, PlayerChannelCache> viewedPlayerMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, PlayerChannelCache> viewedPlayerMap = new ConcurrentHashMap<>();
     final Map<UUID, MountedHitBox> mountedHitBoxCache = new ConcurrentHashMap<>();
     private final Map<UUID, MountedHitBox> mountedHitBox = Collections.unmodifiableMap(mountedHitBoxCache);
 
@@ -78,7 +83,7 @@ public final class EntityTrackerRegistry {
      * @return registry or null
      */
     public static @Nullable EntityTrackerRegistry registry(@NotNull UUID uuid) {
-        return REGISTRY_LOCK.accessToReadLock(() -> UUID_REGISTRY_MAP.get(uuid));
+        return UUID_REGISTRY_MAP.get(uuid);
     }
 
     /**
@@ -87,7 +92,7 @@ public final class EntityTrackerRegistry {
      * @return registry or null
      */
     public static @Nullable EntityTrackerRegistry registry(int id) {
-        return REGISTRY_LOCK.accessToReadLock(() -> ID_REGISTRY_MAP.get(id));
+        return ID_REGISTRY_MAP.get(id);
     }
 
     /**
@@ -109,12 +114,21 @@ public final class EntityTrackerRegistry {
         }
     }
 
+    /**
+     * Gets all registries viewed by some player
+     * @param uuid player's uuid
+     * @return viewed registries
+     */
+    public static @NotNull @Unmodifiable List<EntityTrackerRegistry> viewedRegistries(@NotNull UUID uuid) {
+        return VIEWER_INDEX.get(uuid);
+    }
+
     /**
      * Gets all registries
      * @return all registries
      */
     public static @NotNull @Unmodifiable List<EntityTrackerRegistry> registries() {
-        return REGISTRY_LOCK.accessToReadLock(() -> ImmutableList.copyOf(UUID_REGISTRY_MAP.values()));
+        return ImmutableList.copyOf(UUID_REGISTRY_MAP.values());
     }
 
     /**
@@ -132,11 +146,9 @@ public final class EntityTrackerRegistry {
             var get2 = registry(uuid);
             if (get2 != null) return get2;
             registry = new EntityTrackerRegistry(entity);
-            REGISTRY_LOCK.accessToWriteLock(() -> {
-                UUID_REGISTRY_MAP.put(registry.uuid, registry);
-                ID_REGISTRY_MAP.put(registry.id, registry);
-                return null;
-            });
+            ID_REGISTRY_MAP.put(registry.id, registry);
+            UUID_REGISTRY_MAP.put(registry.uuid, registry);
+            TRACKED_ID_FILTER.add(registry.id);
         }
         registry.initialLoad();
         return registry;
@@ -302,17 +314,15 @@ public final class EntityTrackerRegistry {
     private boolean close(@NotNull Tracker.CloseReason reason) {
         if (!closed.compareAndSet(false, true)) return false;
         viewedPlayer().forEach(value -> value.sendEntityData(this));
-        viewedPlayerMap.clear();
+        clearPlayer();
         for (EntityTracker value : trackers()) {
             value.close(reason);
         }
         if (!reason.shouldBeSave()) runSync(() -> entity.modelData(null));
-        REGISTRY_LOCK.accessToWriteLock(() -> {
-            UUID_REGISTRY_MAP.remove(uuid);
-            ID_REGISTRY_MAP.remove(id);
-            if (entity instanceof BasePlayer player) player.updateInventory();
-            return null;
-        });
+        UUID_REGISTRY_MAP.remove(uuid);
+        ID_REGISTRY_MAP.remove(id);
+        TRACKED_ID_FILTER.remove(id);
+        if (entity instanceof BasePlayer player) player.updateInventory();
         LogUtil.debug(DebugConfig.DebugOption.TRACKER, () -> uuid + "'s tracker registry has been removed. (" + UUID_REGISTRY_MAP.size() + ")");
         return true;
     }
@@ -352,7 +362,7 @@ public final class EntityTrackerRegistry {
         for (EntityTracker value : trackers()) {
             if (!value.forRemoval()) value.despawn();
         }
-        viewedPlayerMap.clear();
+        clearPlayer();
     }
 
     /**
@@ -461,7 +471,11 @@ public final class EntityTrackerRegistry {
     }
 
     private @NotNull PlayerChannelCache registerPlayer(@NotNull PlayerChannelHandler handler) {
-        return viewedPlayerMap.computeIfAbsent(handler.uuid(), u -> new PlayerChannelCache(handler));
+        return VIEWER_INDEX.register(viewedPlayerMap, handler.uuid(), this, u -> new PlayerChannelCache(handler));
+    }
+
+    private void clearPlayer() {
+        VIEWER_INDEX.unregisterAll(viewedPlayerMap, this);
     }
 
     /**
@@ -478,7 +492,7 @@ public final class EntityTrackerRegistry {
      * @return success
      */
     public boolean remove(@NotNull Player player) {
-        var cache = viewedPlayerMap.remove(player.getUniqueId());
+        var cache = VIEWER_INDEX.unregister(viewedPlayerMap, player.getUniqueId(), this);
         if (cache == null) return false;
         var handler = cache.channelHandler;
         handler.sendEntityData(this);
@@ -0,0 +1,376 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import kr.toxicity.model.api.bone.RenderedBone;
+import kr.toxicity.model.api.data.blueprint.ModelBoundingBox;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Quaterniond;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-world spatial index of model hitbox volumes.
+ * <p>
+ * Every bone with a hitbox is slotted into a grid of cubic cells, and moved between cells as its tracker ticks.
+ * A query only visits the cells it overlaps, so its cost depends on the queried volume instead of the number of trackers.
+ */
+public final class HitBoxIndex {
+
+    /**
+     * Global index updated by all trackers
+     */
+    public static final HitBoxIndex GLOBAL = new HitBoxIndex(16);
+
+    private final double cellSize;
+    private final Map<UUID, WorldIndex> worlds = new ConcurrentHashMap<>();
+    private final Map<Tracker, TrackerEntry> trackers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates hitbox index
+     * @param cellSize cell size in blocks
+     */
+    public HitBoxIndex(double cellSize) {
+        if (cellSize <= 0) throw new RuntimeException("cell size cannot be <= 0");
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Hit result
+     * @param tracker tracker
+     * @param bone bone
+     * @param box world bounding box of the bone's hitbox
+     * @param position hit position, or the center of the box for area queries
+     * @param distance distance from the origin of the query
+     */
+    public record Hit(@NotNull Tracker tracker, @NotNull RenderedBone bone, @NotNull BoundingBox box, @NotNull Vector position, double distance) {
+    }
+
+    /**
+     * Finds the nearest hitbox hit by the ray
+     * @param world world
+     * @param start ray start
+     * @param direction ray direction
+     * @param maxDistance max distance
+     * @return nearest hit or null
+     */
+    public @Nullable Hit rayTrace(@NotNull World world, @NotNull Vector start, @NotNull Vector direction, double maxDistance) {
+        var index = worlds.get(world.getUID());
+        if (index == null || direction.lengthSquared() == 0 || maxDistance <= 0) return null;
+        var dir = direction.clone().normalize();
+        var cx = cell(start.getX());
+        var cy = cell(start.getY());
+        var cz = cell(start.getZ());
+        var stepX = (int) Math.signum(dir.getX());
+        var stepY = (int) Math.signum(dir.getY());
+        var stepZ = (int) Math.signum(dir.getZ());
+        var tDeltaX = stepX == 0 ? Double.MAX_VALUE : cellSize / Math.abs(dir.getX());
+        var tDeltaY = stepY == 0 ? Double.MAX_VALUE : cellSize / Math.abs(dir.getY());
+        var tDeltaZ = stepZ == 0 ? Double.MAX_VALUE : cellSize / Math.abs(dir.getZ());
+        var tMaxX = boundary(start.getX(), cx, stepX, dir.getX());
+        var tMaxY = boundary(start.getY(), cy, stepY, dir.getY());
+        var tMaxZ = boundary(start.getZ(), cz, stepZ, dir.getZ());
+        var visited = Collections.newSetFromMap(new IdentityHashMap<BoneEntry, Boolean>());
+        Hit best = null;
+        var t = 0D;
+        while (t <= maxDistance) {
+            var cell = index.cells.get(key(cx, cy, cz));
+            if (cell != null) for (BoneEntry entry : cell) {
+                if (!visited.add(entry)) continue;
+                var box = entry.box;
+                var result = box.rayTrace(start, dir, maxDistance);
+                if (result == null) continue;
+                var position = result.getHitPosition();
+                var distance = position.distance(start);
+                if (best == null || distance < best.distance) best = new Hit(entry.tracker, entry.bone, box.clone(), position, distance);
+            }
+            var next = Math.min(tMaxX, Math.min(tMaxY, tMaxZ));
+            if (best != null && best.distance <= next) break;
+            t = next;
+            if (tMaxX == next) {
+                cx += stepX;
+                tMaxX += tDeltaX;
+            } else if (tMaxY == next) {
+                cy += stepY;
+                tMaxY += tDeltaY;
+            } else {
+                cz += stepZ;
+                tMaxZ += tDeltaZ;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the nearest hitbox from the location
+     * @param location location
+     * @param maxDistance max distance
+     * @return nearest hit or null
+     */
+    public @Nullable Hit nearest(@NotNull Location location, double maxDistance) {
+        Hit best = null;
+        for (Hit hit : within(location, maxDistance)) {
+            if (best == null || hit.distance < best.distance) best = hit;
+        }
+        return best;
+    }
+
+    /**
+     * Finds all hitboxes within the sphere
+     * @param center center of sphere
+     * @param radius radius of sphere
+     * @return hits
+     */
+    public @NotNull List<Hit> within(@NotNull Location center, double radius) {
+        var world = center.getWorld();
+        if (world == null || radius < 0) return Collections.emptyList();
+        var origin = center.toVector();
+        var result = new ArrayList<Hit>();
+        query(world, BoundingBox.of(origin, radius, radius, radius), box -> {
+            var distance = distance(box, origin);
+            return distance <= radius ? distance : -1;
+        }, result);
+        return result;
+    }
+
+    /**
+     * Finds all hitboxes overlapping the box
+     * @param world world
+     * @param area area
+     * @return hits
+     */
+    public @NotNull List<Hit> overlapping(@NotNull World world, @NotNull BoundingBox area) {
+        var origin = area.getCenter();
+        var result = new ArrayList<Hit>();
+        query(world, area, box -> box.overlaps(area) ? box.getCenter().distance(origin) : -1, result);
+        return result;
+    }
+
+    /**
+     * Gets the number of indexed bones
+     * @return size
+     */
+    public int size() {
+        var size = 0;
+        for (TrackerEntry value : trackers.values()) {
+            synchronized (value) {
+                size += value.bones.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Updates all hitbox bones of the tracker
+     * @param tracker tracker
+     */
+    @ApiStatus.Internal
+    public void update(@NotNull Tracker tracker) {
+        if (tracker.isClosed()) return;
+        var entry = trackers.get(tracker);
+        if (entry == null) {
+            if (tracker.bones().stream().allMatch(bone -> bone.getHitBox() == null)) return;
+            entry = trackers.computeIfAbsent(tracker, t -> new TrackerEntry());
+            if (tracker.isClosed()) {
+                remove(tracker);
+                return;
+            }
+        }
+        var location = tracker.location();
+        var world = location.getWorld();
+        synchronized (entry) {
+            if (entry.closed) return;
+            var index = world != null ? worlds.computeIfAbsent(world.getUID(), u -> new WorldIndex()) : null;
+            for (RenderedBone bone : tracker.bones()) {
+                var boneEntry = entry.bones.get(bone);
+                if (index == null || bone.getHitBox() == null) {
+                    if (boneEntry != null) {
+                        boneEntry.unlink();
+                        entry.bones.remove(bone);
+                    }
+                    continue;
+                }
+                if (boneEntry == null) entry.bones.put(bone, boneEntry = new BoneEntry(tracker, bone));
+                boneEntry.move(index, box(bone, location));
+            }
+        }
+    }
+
+    /**
+     * Removes all bones of the tracker
+     * @param tracker tracker
+     */
+    @ApiStatus.Internal
+    public void remove(@NotNull Tracker tracker) {
+        var entry = trackers.remove(tracker);
+        if (entry == null) return;
+        synchronized (entry) {
+            entry.closed = true;
+            entry.bones.values().forEach(BoneEntry::unlink);
+            entry.bones.clear();
+        }
+    }
+
+    private void query(@NotNull World world, @NotNull BoundingBox area, @NotNull DistanceFunction function, @NotNull List<Hit> result) {
+        var index = worlds.get(world.getUID());
+        if (index == null) return;
+        var visited = Collections.newSetFromMap(new IdentityHashMap<BoneEntry, Boolean>());
+        var minX = cell(area.getMinX());
+        var minY = cell(area.getMinY());
+        var minZ = cell(area.getMinZ());
+        var maxX = cell(area.getMaxX());
+        var maxY = cell(area.getMaxY());
+        var maxZ = cell(area.getMaxZ());
+        var count = ((long) maxX - minX + 1) * ((long) maxY - minY + 1) * ((long) maxZ - minZ + 1);
+        if (count > index.cells.size()) {
+            for (Set<BoneEntry> cell : index.cells.values()) {
+                for (BoneEntry entry : cell) {
+                    if (visited.add(entry)) test(entry, function, result);
+                }
+            }
+            return;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    var cell = index.cells.get(key(x, y, z));
+                    if (cell == null) continue;
+                    for (BoneEntry entry : cell) {
+                        if (visited.add(entry)) test(entry, function, result);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void test(@NotNull BoneEntry entry, @NotNull DistanceFunction function, @NotNull List<Hit> result) {
+        var box = entry.box;
+        var distance = function.distance(box);
+        if (distance >= 0) result.add(new Hit(entry.tracker, entry.bone, box.clone(), box.getCenter(), distance));
+    }
+
+    private static double distance(@NotNull BoundingBox box, @NotNull Vector point) {
+        var dx = Math.max(Math.max(box.getMinX() - point.getX(), 0), point.getX() - box.getMaxX());
+        var dy = Math.max(Math.max(box.getMinY() - point.getY(), 0), point.getY() - box.getMaxY());
+        var dz = Math.max(Math.max(box.getMinZ() - point.getZ(), 0), point.getZ() - box.getMaxZ());
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private static @NotNull BoundingBox box(@NotNull RenderedBone bone, @NotNull Location location) {
+        var hitBox = bone.getGroup().getHitBox();
+        var source = (hitBox != null ? hitBox.center() : ModelBoundingBox.MIN).rotate(new Quaterniond(bone.hitBoxViewRotation()));
+        var pos = bone.hitBoxPosition();
+        var scale = bone.hitBoxScale();
+        var x = location.getX() + pos.x;
+        var y = location.getY() + pos.y;
+        var z = location.getZ() + pos.z;
+        return new BoundingBox(
+                x + source.minX() * scale,
+                y + source.minY() * scale,
+                z + source.minZ() * scale,
+                x + source.maxX() * scale,
+                y + source.maxY() * scale,
+                z + source.maxZ() * scale
+        );
+    }
+
+    private int cell(double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    private double boundary(double start, int cell, int step, double dir) {
+        if (step == 0) return Double.MAX_VALUE;
+        var edge = (step > 0 ? cell + 1 : cell) * cellSize;
+        return (edge - start) / dir;
+    }
+
+    private static long key(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    @FunctionalInterface
+    private interface DistanceFunction {
+        double distance(@NotNull BoundingBox box);
+    }
+
+    private static final class WorldIndex {
+        private final Map<Long, Set<BoneEntry>> cells = new ConcurrentHashMap<>();
+    }
+
+    private static final class TrackerEntry {
+        private final Map<RenderedBone, BoneEntry> bones = new HashMap<>();
+        private boolean closed;
+    }
+
+    private final class BoneEntry {
+        private final Tracker tracker;
+        private final RenderedBone bone;
+        private volatile BoundingBox box;
+        private WorldIndex index;
+        private int minX, minY, minZ, maxX, maxY, maxZ;
+
+        private BoneEntry(@NotNull Tracker tracker, @NotNull RenderedBone bone) {
+            this.tracker = tracker;
+            this.bone = bone;
+        }
+
+        private void move(@NotNull WorldIndex newIndex, @NotNull BoundingBox newBox) {
+            box = newBox;
+            var newMinX = cell(newBox.getMinX());
+            var newMinY = cell(newBox.getMinY());
+            var newMinZ = cell(newBox.getMinZ());
+            var newMaxX = cell(newBox.getMaxX());
+            var newMaxY = cell(newBox.getMaxY());
+            var newMaxZ = cell(newBox.getMaxZ());
+            if (index == newIndex
+                    && minX == newMinX && minY == newMinY && minZ == newMinZ
+                    && maxX == newMaxX && maxY == newMaxY && maxZ == newMaxZ) return;
+            unlink();
+            index = newIndex;
+            minX = newMinX;
+            minY = newMinY;
+            minZ = newMinZ;
+            maxX = newMaxX;
+            maxY = newMaxY;
+            maxZ = newMaxZ;
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        newIndex.cells.compute(key(x, y, z), (k, set) -> {
+                            if (set == null) set = ConcurrentHashMap.newKeySet();
+                            set.add(this);
+                            return set;
+                        });
+                    }
+                }
+            }
+        }
+
+        private void unlink() {
+            var oldIndex = index;
+            if (oldIndex == null) return;
+            index = null;
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        oldIndex.cells.computeIfPresent(key(x, y, z), (k, set) -> {
+                            set.remove(this);
+                            return set.isEmpty() ? null : set;
+                        });
+                    }
+                }
+            }
+        }
+    }
+}
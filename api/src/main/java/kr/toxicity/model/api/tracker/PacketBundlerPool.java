@@ -0,0 +1,57 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import kr.toxicity.model.api.nms.PacketBundler;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Recycles sent packet bundlers.
+ * <p>
+ * A sent bundler is parked until all of its packets have been written, then reset and reused.
+ * This pool is not thread-safe; it should be used by one tracker tick at a time.
+ */
+@ApiStatus.Internal
+public final class PacketBundlerPool {
+
+    private static final int POOL_SIZE = 4;
+
+    private final Supplier<PacketBundler> supplier;
+    private final PacketBundler[] pool = new PacketBundler[POOL_SIZE];
+    private int cursor;
+
+    /**
+     * Creates pool
+     * @param supplier bundler supplier
+     */
+    public PacketBundlerPool(@NotNull Supplier<PacketBundler> supplier) {
+        this.supplier = Objects.requireNonNull(supplier);
+    }
+
+    /**
+     * Parks sent bundler and gets an empty bundler.
+     * @param sent sent bundler
+     * @return empty bundler
+     */
+    public @NotNull PacketBundler swap(@NotNull PacketBundler sent) {
+        if (sent.reset()) return sent;
+        for (int i = 0; i < POOL_SIZE; i++) {
+            var bundler = pool[i];
+            if (bundler != null && bundler.reset()) {
+                pool[i] = sent;
+                return bundler;
+            }
+        }
+        pool[cursor] = sent;
+        cursor = (cursor + 1) % POOL_SIZE;
+        return supplier.get();
+    }
+}
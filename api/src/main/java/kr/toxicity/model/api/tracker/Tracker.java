@@ -23,9 +23,11 @@ import kr.toxicity.model.api.entity.BaseEntity;
 import kr.toxicity.model.api.entity.BasePlayer;
 import kr.toxicity.model.api.event.*;
 import kr.toxicity.model.api.nms.*;
+import kr.toxicity.model.api.scheduler.ModelTask;
 import kr.toxicity.model.api.script.TimeScript;
 import kr.toxicity.model.api.util.EntityUtil;
 import kr.toxicity.model.api.util.EventUtil;
+import kr.toxicity.model.api.util.FrameClock;
 import kr.toxicity.model.api.util.LogUtil;
 import kr.toxicity.model.api.util.MathUtil;
 import kr.toxicity.model.api.util.function.BonePredicate;
@@ -39,7 +41,8 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
-import java.util.concurrent.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.*;
@@ -50,19 +53,6 @@ import java.util.stream.Stream;
  */
 public abstract class Tracker implements AutoCloseable {
 
-    private static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors() * 2, new ThreadFactory() {
-
-        private final AtomicInteger integer = new AtomicInteger();
-
-        @Override
-        public Thread newThread(@NotNull Runnable r) {
-            var thread = new Thread(r);
-            thread.setDaemon(true);
-            thread.setName("BetterModel-Worker-" + integer.getAndIncrement());
-            thread.setUncaughtExceptionHandler((t, e) -> LogUtil.handleException("Exception has occurred in " + t.getName(), e));
-            return thread;
-        }
-    });
     /**
      * Tracker tick interval
      */
@@ -71,15 +61,24 @@ public abstract class Tracker implements AutoCloseable {
      * Multiplier value for convert tracker tick to minecraft tick
      */
     public static final int MINECRAFT_TICK_MULTIPLIER = MathUtil.MINECRAFT_TICK_MILLS / TRACKER_TICK_INTERVAL;
+    private static final TrackerScheduler SCHEDULER = new TrackerScheduler(FrameClock.GLOBAL, Runtime.getRuntime().availableProcessors());
+    private static final long FULL_DETAIL_FRAME = 20L * MINECRAFT_TICK_MULTIPLIER;
+    private static final long IDLE_FRAME = 20L * MINECRAFT_TICK_MULTIPLIER;
 
     @Getter
     protected final RenderPipeline pipeline;
     private long frame = 0;
+    private long previousFrame = -1;
+    private long idleFrame = 0;
+    private long fullDetailFrame = 0;
+    private volatile boolean requestFullDetail = true;
+    private volatile TrackerLevelOfDetail levelOfDetail = TrackerLevelOfDetail.FULL;
     private final Queue<Runnable> queuedTask = new ConcurrentLinkedQueue<>();
     private final AtomicBoolean tickPause = new AtomicBoolean();
     private final AtomicBoolean isClosed = new AtomicBoolean();
     private final AtomicBoolean readyForForceUpdate = new AtomicBoolean();
     private final AtomicBoolean forRemoval = new AtomicBoolean();
+    private volatile boolean hasHitBox;
     protected final TrackerModifier modifier;
     private final Runnable updater;
     private final BundlerSet bundlerSet;
@@ -92,7 +91,7 @@ public abstract class Tracker implements AutoCloseable {
                 } else b.accept(this);
             }
     );
-    private ScheduledFuture<?> task;
+    private ModelTask task;
     protected ModelRotator rotator = ModelRotator.YAW;
     protected ModelScaler scaler = ModelScaler.entity();
     private Supplier<ModelRotation> rotationSupplier = () -> ModelRotation.EMPTY;
@@ -100,8 +99,10 @@ public abstract class Tracker implements AutoCloseable {
 
     private ScheduledPacketHandler handler = (t, s) -> {
         if (!tickPause.get()) {
-            scriptProcessor.tick();
-            t.pipeline.tick(s.getViewBundler());
+            var step = t.frameStep();
+            scriptProcessor.tick(step, () -> {});
+            if (t.pipeline.tick(step, s.getViewBundler(), s.getOverlaidBundler(), s.overlaidBones)) t.idleFrame = 0;
+            else t.idleFrame += step;
         }
     };
     private BiConsumer<Tracker, Player> perPlayerHandler = null;
@@ -117,15 +118,17 @@ public abstract class Tracker implements AutoCloseable {
         bundlerSet = new BundlerSet();
         updater = () -> {
             try {
-                if (frame % MINECRAFT_TICK_MULTIPLIER == 0) {
+                if (crossed(MINECRAFT_TICK_MULTIPLIER)) {
                     Runnable task;
                     while ((task = queuedTask.poll()) != null) task.run();
+                    if (modifier.levelOfDetail()) updateLevelOfDetail();
                 }
                 handler.handle(this, bundlerSet);
                 bundlerSet.send();
             } catch (Throwable throwable) {
                 LogUtil.handleException("Ticking this tracker has been failed: " + name(), throwable);
             }
+            previousFrame = frame;
         };
         if (modifier.sightTrace()) pipeline.viewFilter(p -> EntityUtil.canSee(p.getEyeLocation(), location()));
         frame((t, s) -> {
@@ -135,6 +138,10 @@ public abstract class Tracker implements AutoCloseable {
                 t.rotation(),
                 s.tickBundler
         ));
+        tick((t, s) -> pipeline.iterateTree(b -> b.syncHitBox(s.tickBundler)));
+        tick((t, s) -> {
+            if (t.hasHitBox) HitBoxIndex.GLOBAL.update(t);
+        });
         tick((t, s) -> {
             var perPlayer = perPlayerHandler;
             if (perPlayer != null) pipeline.nonHidePlayer().forEach(p -> perPlayer.accept(t, p));
@@ -145,7 +152,7 @@ public abstract class Tracker implements AutoCloseable {
                 .add());
         pipeline.eventDispatcher().handleStateRemove((bone, uuid) -> {
             var get = bundlerSet.perPlayerViewBundler.get(uuid);
-            if (get != null) get.remove();
+            if (get != null) get.remove(bone);
         });
         LogUtil.debug(DebugConfig.DebugOption.TRACKER, () -> getClass().getSimpleName() + " tracker created: " + name());
         animate("idle", AnimationModifier.builder().start(6).type(AnimationIterator.Type.LOOP).build());
@@ -164,14 +171,14 @@ public abstract class Tracker implements AutoCloseable {
         synchronized (this) {
             if (isScheduled()) return;
             updater.run();
-            task = EXECUTOR.scheduleAtFixedRate(() -> {
+            task = SCHEDULER.schedule(() -> {
                 if (playerCount() == 0 && !forRemoval.get()) {
                     shutdown();
                     return;
                 }
-                frame++;
+                if (++frame - previousFrame < levelOfDetail.interval()) return;
                 updater.run();
-            }, TRACKER_TICK_INTERVAL, TRACKER_TICK_INTERVAL, TimeUnit.MILLISECONDS);
+            });
             LogUtil.debug(DebugConfig.DebugOption.TRACKER, () -> getClass().getSimpleName() + " scheduler started: " + name());
         }
     }
@@ -180,13 +187,62 @@ public abstract class Tracker implements AutoCloseable {
         if (!isScheduled()) return;
         synchronized (this) {
             if (!isScheduled()) return;
-            task.cancel(true);
+            task.cancel();
             task = null;
             frame = 0;
+            previousFrame = -1;
+            requestFullDetail = true;
+            levelOfDetail = TrackerLevelOfDetail.FULL;
             LogUtil.debug(DebugConfig.DebugOption.TRACKER, () -> getClass().getSimpleName() + " scheduler shutdown: " + name());
         }
     }
 
+    private boolean crossed(long period) {
+        return Math.floorDiv(frame, period) != Math.floorDiv(previousFrame, period);
+    }
+
+    private int frameStep() {
+        return (int) (frame - previousFrame);
+    }
+
+    private void updateLevelOfDetail() {
+        if (requestFullDetail) {
+            requestFullDetail = false;
+            fullDetailFrame = frame + FULL_DETAIL_FRAME;
+        }
+        levelOfDetail = frame < fullDetailFrame ? TrackerLevelOfDetail.FULL : TrackerLevelOfDetail.of(
+                nearestViewerDistanceSquared(),
+                idleFrame >= IDLE_FRAME
+        );
+    }
+
+    private double nearestViewerDistanceSquared() {
+        var location = location();
+        var world = location.getWorld();
+        return pipeline.allPlayer()
+                .map(Player::getLocation)
+                .filter(l -> l.getWorld() == world)
+                .mapToDouble(l -> l.distanceSquared(location))
+                .min()
+                .orElse(Double.MAX_VALUE);
+    }
+
+    /**
+     * Gets current level of detail of this tracker.
+     * @return level of detail
+     */
+    public @NotNull TrackerLevelOfDetail levelOfDetail() {
+        return levelOfDetail;
+    }
+
+    /**
+     * Restores full tick rate of this tracker for a while.
+     */
+    public void requestFullDetail() {
+        requestFullDetail = true;
+        levelOfDetail = TrackerLevelOfDetail.FULL;
+    }
+
     /**
      * Gets model rotation.
      * @return rotation
@@ -260,7 +316,7 @@ public abstract class Tracker implements AutoCloseable {
         Objects.requireNonNull(handler);
         if (period <= 0) throw new RuntimeException("period cannot be <= 0");
         frame(period == 1 ? handler : (t, s) -> {
-            if (frame % period == 0) handler.handle(t, s);
+            if (crossed(period)) handler.handle(t, s);
         });
     }
 
@@ -306,6 +362,7 @@ public abstract class Tracker implements AutoCloseable {
         if (isClosed.compareAndSet(false, true)) {
             closeEventHandler.accept(this, reason);
             shutdown();
+            HitBoxIndex.GLOBAL.remove(this);
             pipeline.despawn();
             LogUtil.debug(DebugConfig.DebugOption.TRACKER, () -> getClass().getSimpleName() + " closed: " + name());
         }
@@ -503,6 +560,7 @@ public abstract class Tracker implements AutoCloseable {
     public boolean animate(@NotNull Predicate<RenderedBone> filter, @NotNull BlueprintAnimation animation, @NotNull AnimationModifier modifier, @NotNull AnimationEventHandler eventHandler) {
         var script = animation.script(modifier);
         if (script != null) scriptProcessor.addAnimation(animation.name(), script.iterator(modifier), modifier, AnimationEventHandler.start());
+        requestFullDetail();
         return pipeline.animate(filter, animation, modifier, eventHandler);
     }
 
@@ -573,6 +631,7 @@ public abstract class Tracker implements AutoCloseable {
     public boolean replace(@NotNull Predicate<RenderedBone> filter, @NotNull String target, @NotNull BlueprintAnimation animation, @NotNull AnimationModifier modifier) {
         var script = animation.script(modifier);
         if (script != null) scriptProcessor.replaceAnimation(target, script.iterator(modifier), modifier);
+        requestFullDetail();
         return pipeline.replace(filter, target, animation, modifier);
     }
 
@@ -586,7 +645,14 @@ public abstract class Tracker implements AutoCloseable {
      * @return success
      */
     public boolean createHitBox(@NotNull BaseEntity entity, @Nullable HitBoxListener listener, @NotNull BonePredicate predicate) {
-        return tryUpdate((b, p) -> b.createHitBox(entity, p, listener), predicate);
+        return tryUpdate((b, p) -> createHitBox(b, entity, p, listener), predicate);
+    }
+
+    private boolean createHitBox(@NotNull RenderedBone bone, @NotNull BaseEntity entity, @NotNull Predicate<RenderedBone> predicate, @Nullable HitBoxListener listener) {
+        if (!bone.createHitBox(entity, predicate, listener)) return false;
+        hasHitBox = true;
+        if (bone.getHitBox() instanceof PacketHitBox packetHitBox) pipeline.nonHidePlayer().forEach(packetHitBox::show);
+        return true;
     }
 
     /**
@@ -599,7 +665,7 @@ public abstract class Tracker implements AutoCloseable {
     public @Nullable HitBox hitbox(@NotNull BaseEntity entity, @Nullable HitBoxListener listener, @NotNull Predicate<RenderedBone> predicate) {
         return pipeline.firstNotNull(bone -> {
             if (predicate.test(bone)) {
-                if (bone.getHitBox() == null) bone.createHitBox(entity, BonePredicate.TRUE, listener);
+                if (bone.getHitBox() == null) createHitBox(bone, entity, BonePredicate.TRUE, listener);
                 return bone.getHitBox();
             } else return null;
         });
@@ -831,6 +897,14 @@ public abstract class Tracker implements AutoCloseable {
         private PacketBundler dataBundler = pipeline.createLazyBundler();
         @Getter
         private PacketBundler viewBundler = pipeline.createParallelBundler();
+        @Getter
+        private PacketBundler overlaidBundler = pipeline.createParallelBundler();
+
+        private final PacketBundlerPool tickPool = new PacketBundlerPool(pipeline::createBundler);
+        private final PacketBundlerPool dataPool = new PacketBundlerPool(pipeline::createLazyBundler);
+        private final PacketBundlerPool viewPool = new PacketBundlerPool(pipeline::createParallelBundler);
+        private final PacketBundlerPool overlaidPool = new PacketBundlerPool(pipeline::createParallelBundler);
+        private final List<RenderedBone> overlaidBones = new ArrayList<>();
 
         private final Map<UUID, PerPlayerCache> perPlayerViewBundler = new ConcurrentHashMap<>();
 
@@ -843,6 +917,7 @@ public abstract class Tracker implements AutoCloseable {
         private void send() {
             globalSend();
             perPlayerSend();
+            overlaidBones.clear();
         }
 
         private void perPlayerSend() {
@@ -851,16 +926,22 @@ public abstract class Tracker implements AutoCloseable {
 
         private void globalSend() {
             if (tickBundler.isNotEmpty()) {
-                pipeline.allPlayer().forEach(tickBundler::send);
-                tickBundler = pipeline.createBundler();
+                tickBundler.send(pipeline.allPlayer().toList());
+                tickBundler = tickPool.swap(tickBundler);
             }
             if (dataBundler.isNotEmpty()) {
-                pipeline.nonHidePlayer().forEach(dataBundler::send);
-                dataBundler = pipeline.createLazyBundler();
+                dataBundler.send(pipeline.nonHidePlayer().toList());
+                dataBundler = dataPool.swap(dataBundler);
             }
             if (viewBundler.isNotEmpty()) {
-                pipeline.viewedPlayer().filter(p -> !perPlayerViewBundler.containsKey(p.getUniqueId())).forEach(viewBundler::send);
-                viewBundler = pipeline.createParallelBundler();
+                viewBundler.send(pipeline.viewedPlayer().toList());
+                viewBundler = viewPool.swap(viewBundler);
+            }
+            if (overlaidBundler.isNotEmpty()) {
+                overlaidBundler.send(pipeline.viewedPlayer()
+                        .filter(player -> !perPlayerViewBundler.containsKey(player.getUniqueId()))
+                        .toList());
+                overlaidBundler = overlaidPool.swap(overlaidBundler);
             }
         }
     }
@@ -869,6 +950,7 @@ public abstract class Tracker implements AutoCloseable {
     private class PerPlayerCache {
         private final UUID uuid;
         private final AtomicInteger counter = new AtomicInteger();
+        private final PacketBundlerPool pool = new PacketBundlerPool(pipeline::createParallelBundler);
         private PacketBundler bundler = pipeline.createParallelBundler();
 
         private @NotNull Optional<PlayerChannelHandler> channel() {
@@ -881,22 +963,28 @@ public abstract class Tracker implements AutoCloseable {
             }
         }
 
-        public void remove() {
-            if (counter.decrementAndGet() == 0) {
-                bundlerSet.perPlayerViewBundler.remove(uuid);
-                channel().ifPresent(handler -> {
-                    var bundler = pipeline.createBundler();
-                    pipeline.iterateTree(bone -> bone.forceTransformation(bundler));
-                    bundler.send(handler.player());
-                    EventUtil.call(new PlayerPerAnimationEndEvent(Tracker.this, handler.player()));
-                });
+        public void remove(@NotNull RenderedBone removed) {
+            if (counter.decrementAndGet() > 0) {
+                removed.forceTransformation(bundler);
+                return;
             }
+            bundlerSet.perPlayerViewBundler.remove(uuid);
+            channel().ifPresent(handler -> {
+                var bundler = pipeline.createBundler();
+                pipeline.iterateTree(bone -> bone.forceTransformation(bundler));
+                bundler.send(handler.player());
+                EventUtil.call(new PlayerPerAnimationEndEvent(Tracker.this, handler.player()));
+            });
         }
 
         private void send() {
-            if (pipeline.tick(uuid, bundler) && bundler.isNotEmpty()) {
+            for (RenderedBone bone : bundlerSet.overlaidBones) {
+                if (!bone.hasState(uuid)) bone.forceTransformation(bundler);
+            }
+            pipeline.tick(uuid, frameStep(), bundler);
+            if (bundler.isNotEmpty()) {
                 channel().ifPresent(handler -> bundler.send(handler.player()));
-                bundler = pipeline.createParallelBundler();
+                bundler = pool.swap(bundler);
             }
         }
     }
@@ -0,0 +1,72 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Level of detail of a tracker's tick rate
+ */
+public enum TrackerLevelOfDetail {
+    /**
+     * Ticks every frame (10 ms)
+     */
+    FULL(1, 16),
+    /**
+     * Ticks every 2 frames (20 ms)
+     */
+    HIGH(2, 32),
+    /**
+     * Ticks every 5 frames (50 ms)
+     */
+    MEDIUM(5, 48),
+    /**
+     * Ticks every 10 frames (100 ms)
+     */
+    LOW(10, Double.MAX_VALUE)
+    ;
+
+    private static final TrackerLevelOfDetail[] VALUES = values();
+
+    private final int interval;
+    private final double distanceSquared;
+
+    TrackerLevelOfDetail(int interval, double distance) {
+        this.interval = interval;
+        this.distanceSquared = distance * distance;
+    }
+
+    /**
+     * Gets frame interval of this level
+     * @return interval
+     */
+    public int interval() {
+        return interval;
+    }
+
+    /**
+     * Gets proper level of detail
+     * @param distanceSquared squared distance of the nearest viewer
+     * @param idle whether tracker is idle
+     * @return level of detail
+     */
+    public static @NotNull TrackerLevelOfDetail of(double distanceSquared, boolean idle) {
+        for (TrackerLevelOfDetail value : VALUES) {
+            if (distanceSquared < value.distanceSquared) return idle ? value.lower() : value;
+        }
+        return LOW;
+    }
+
+    /**
+     * Gets the next lower level of this level
+     * @return lower level
+     */
+    public @NotNull TrackerLevelOfDetail lower() {
+        var ordinal = ordinal();
+        return ordinal + 1 < VALUES.length ? VALUES[ordinal + 1] : this;
+    }
+}
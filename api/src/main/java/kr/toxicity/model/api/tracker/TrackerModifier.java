@@ -6,6 +6,7 @@
  */
 package kr.toxicity.model.api.tracker;
 
+import com.google.gson.JsonObject;
 import com.google.gson.annotations.SerializedName;
 import org.jetbrains.annotations.NotNull;
 
@@ -14,21 +15,54 @@ import org.jetbrains.annotations.NotNull;
  * @param sightTrace use sight-trace
  * @param damageAnimation enables damage animation
  * @param damageTint enables damage tint
+ * @param levelOfDetail enables adaptive tick rate by viewer distance
  */
 public record TrackerModifier(
         @SerializedName("sight-trace") boolean sightTrace,
         @SerializedName("damage-animation") boolean damageAnimation,
-        @SerializedName("damage-tint") boolean damageTint
+        @SerializedName("damage-tint") boolean damageTint,
+        @SerializedName("level-of-detail") boolean levelOfDetail
 ) {
     /**
      * Default modifier
      */
     public static final TrackerModifier DEFAULT = new TrackerModifier(
+            true,
             true,
             true,
             true
     );
 
+    /**
+     * Creates modifier with level of detail
+     * @param sightTrace use sight-trace
+     * @param damageAnimation enables damage animation
+     * @param damageTint enables damage tint
+     */
+    public TrackerModifier(boolean sightTrace, boolean damageAnimation, boolean damageTint) {
+        this(sightTrace, damageAnimation, damageTint, true);
+    }
+
+    /**
+     * Deserializes modifier from JSON.
+     * A missing value follows {@link #DEFAULT}.
+     * @param object JSON object
+     * @return modifier
+     */
+    public static @NotNull TrackerModifier deserialize(@NotNull JsonObject object) {
+        return new TrackerModifier(
+                value(object, "sight-trace", DEFAULT.sightTrace),
+                value(object, "damage-animation", DEFAULT.damageAnimation),
+                value(object, "damage-tint", DEFAULT.damageTint),
+                value(object, "level-of-detail", DEFAULT.levelOfDetail)
+        );
+    }
+
+    private static boolean value(@NotNull JsonObject object, @NotNull String key, boolean defaultValue) {
+        var element = object.get(key);
+        return element != null && element.isJsonPrimitive() ? element.getAsBoolean() : defaultValue;
+    }
+
     /**
      * Creates default builder
      * @return builder
@@ -52,6 +86,7 @@ public record TrackerModifier(
         private boolean sightTrace;
         private boolean damageAnimation;
         private boolean damageTint;
+        private boolean levelOfDetail;
 
         /**
          * Private initializer
@@ -61,6 +96,7 @@ public record TrackerModifier(
             this.sightTrace = modifier.sightTrace;
             this.damageAnimation = modifier.damageAnimation;
             this.damageTint = modifier.damageTint;
+            this.levelOfDetail = modifier.levelOfDetail;
         }
 
         /**
@@ -103,6 +139,16 @@ public record TrackerModifier(
             return this;
         }
 
+        /**
+         * Sets level of detail
+         * @param levelOfDetail level of detail
+         * @return self
+         */
+        public @NotNull Builder levelOfDetail(boolean levelOfDetail) {
+            this.levelOfDetail = levelOfDetail;
+            return this;
+        }
+
         /**
          * Builds modifier
          * @return modifier
@@ -111,7 +157,8 @@ public record TrackerModifier(
             return new TrackerModifier(
                     sightTrace,
                     damageAnimation,
-                    damageTint
+                    damageTint,
+                    levelOfDetail
             );
         }
     }
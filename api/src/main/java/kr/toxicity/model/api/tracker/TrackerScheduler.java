@@ -0,0 +1,174 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import kr.toxicity.model.api.scheduler.ModelTask;
+import kr.toxicity.model.api.util.FrameClock;
+import kr.toxicity.model.api.util.LogUtil;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Central tick scheduler of all trackers.
+ * <p>
+ * A single clock thread advances the frame clock every interval and dispatches each shard as one batch to the worker pool,
+ * so scheduling cost does not grow with the number of trackers.
+ */
+@ApiStatus.Internal
+public final class TrackerScheduler {
+
+    private final FrameClock frameClock;
+    private final ScheduledExecutorService clock;
+    private final ExecutorService worker;
+    private final Shard[] shards;
+
+    /**
+     * Creates scheduler
+     * @param frameClock frame clock to advance
+     * @param shardAmount amount of shards
+     */
+    public TrackerScheduler(@NotNull FrameClock frameClock, int shardAmount) {
+        if (shardAmount <= 0) throw new RuntimeException("shard amount cannot be <= 0");
+        shards = new Shard[shardAmount];
+        for (int i = 0; i < shardAmount; i++) {
+            shards[i] = new Shard();
+        }
+        clock = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r);
+            thread.setDaemon(true);
+            thread.setName("BetterModel-Clock");
+            thread.setUncaughtExceptionHandler((t, e) -> LogUtil.handleException("Exception has occurred in " + t.getName(), e));
+            return thread;
+        });
+        worker = Executors.newFixedThreadPool(shardAmount, new ThreadFactory() {
+
+            private final AtomicInteger integer = new AtomicInteger();
+
+            @Override
+            public Thread newThread(@NotNull Runnable r) {
+                var thread = new Thread(r);
+                thread.setDaemon(true);
+                thread.setName("BetterModel-Worker-" + integer.getAndIncrement());
+                thread.setUncaughtExceptionHandler((t, e) -> LogUtil.handleException("Exception has occurred in " + t.getName(), e));
+                return thread;
+            }
+        });
+        this.frameClock = frameClock;
+        var interval = frameClock.interval();
+        clock.scheduleAtFixedRate(this::frame, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules some task on every frame.
+     * @param runnable task
+     * @return scheduled task
+     */
+    public @NotNull ModelTask schedule(@NotNull Runnable runnable) {
+        var entry = new Entry(lowestShard(), Objects.requireNonNull(runnable));
+        entry.shard.add(entry);
+        return entry;
+    }
+
+    /**
+     * Gets the number of scheduled tasks.
+     * @return task amount
+     */
+    public int size() {
+        var size = 0;
+        for (Shard shard : shards) {
+            size += shard.size.get();
+        }
+        return size;
+    }
+
+    private void frame() {
+        frameClock.advance();
+        for (Shard shard : shards) {
+            shard.dispatch();
+        }
+    }
+
+    private @NotNull Shard lowestShard() {
+        var selected = shards[0];
+        for (int i = 1; i < shards.length; i++) {
+            var shard = shards[i];
+            if (shard.size.get() < selected.size.get()) selected = shard;
+        }
+        return selected;
+    }
+
+    private final class Shard implements Runnable {
+        private final Set<Entry> entries = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private void add(@NotNull Entry entry) {
+            if (entries.add(entry)) size.incrementAndGet();
+        }
+
+        private void remove(@NotNull Entry entry) {
+            if (entries.remove(entry)) size.decrementAndGet();
+        }
+
+        private void dispatch() {
+            if (size.get() == 0 || !running.compareAndSet(false, true)) return;
+            try {
+                worker.execute(this);
+            } catch (RejectedExecutionException e) {
+                running.set(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (Entry entry : entries) {
+                    entry.tick();
+                }
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+
+    private static final class Entry implements ModelTask {
+        private final Shard shard;
+        private final Runnable runnable;
+        private volatile boolean cancelled;
+
+        private Entry(@NotNull Shard shard, @NotNull Runnable runnable) {
+            this.shard = shard;
+            this.runnable = runnable;
+        }
+
+        private void tick() {
+            if (cancelled) return;
+            try {
+                runnable.run();
+            } catch (Throwable throwable) {
+                LogUtil.handleException("Exception has occurred in scheduled tracker task.", throwable);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            shard.remove(this);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.util;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Int-keyed open addressing map with lock-free read.
+ * <p>
+ * Reads never block and never box the key. Writes are serialized, and a resized table is published as a whole,
+ * so a reader always probes a consistent table.
+ * @param <V> value type
+ */
+@ApiStatus.Internal
+public final class ConcurrentInt2ReferenceMap<V> {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Entry<?> TOMBSTONE = new Entry<>(0, null);
+
+    private volatile AtomicReferenceArray<Entry<V>> table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    private volatile int size;
+    private int used;
+
+    /**
+     * Gets value by key
+     * @param key key
+     * @return value or null
+     */
+    public @Nullable V get(int key) {
+        var t = table;
+        var mask = t.length() - 1;
+        var i = index(key, mask);
+        Entry<V> entry;
+        while ((entry = t.get(i)) != null) {
+            if (entry != TOMBSTONE && entry.key == key) return entry.value;
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Puts value
+     * @param key key
+     * @param value value
+     * @return previous value or null
+     */
+    public synchronized @Nullable V put(int key, @NotNull V value) {
+        Objects.requireNonNull(value, "value");
+        var t = table;
+        var mask = t.length() - 1;
+        var i = index(key, mask);
+        var free = -1;
+        Entry<V> entry;
+        while ((entry = t.get(i)) != null) {
+            if (entry == TOMBSTONE) {
+                if (free < 0) free = i;
+            } else if (entry.key == key) {
+                t.set(i, new Entry<>(key, value));
+                return entry.value;
+            }
+            i = (i + 1) & mask;
+        }
+        if (free >= 0) t.set(free, new Entry<>(key, value));
+        else {
+            t.set(i, new Entry<>(key, value));
+            if (++used > t.length() >> 1) table = resize(t, size + 1);
+        }
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes value by key
+     * @param key key
+     * @return removed value or null
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized @Nullable V remove(int key) {
+        var t = table;
+        var mask = t.length() - 1;
+        var i = index(key, mask);
+        Entry<V> entry;
+        while ((entry = t.get(i)) != null) {
+            if (entry != TOMBSTONE && entry.key == key) {
+                t.set(i, (Entry<V>) TOMBSTONE);
+                size--;
+                return entry.value;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of values
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    private @NotNull AtomicReferenceArray<Entry<V>> resize(@NotNull AtomicReferenceArray<Entry<V>> old, int expected) {
+        var capacity = INITIAL_CAPACITY;
+        while (capacity >> 2 < expected) capacity <<= 1;
+        var resized = new AtomicReferenceArray<Entry<V>>(capacity);
+        var mask = capacity - 1;
+        for (int i = 0; i < old.length(); i++) {
+            var entry = old.get(i);
+            if (entry == null || entry == TOMBSTONE) continue;
+            var j = index(entry.key, mask);
+            while (resized.get(j) != null) j = (j + 1) & mask;
+            resized.set(j, entry);
+        }
+        used = expected;
+        return resized;
+    }
+
+    private static int index(int key, int mask) {
+        var h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private record Entry<V>(int key, V value) {
+    }
+}
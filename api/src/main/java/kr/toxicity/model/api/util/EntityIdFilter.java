@@ -0,0 +1,51 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.util;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free counting filter of entity ids.
+ * <p>
+ * {@link #mightContain(int)} never gives a false negative, so a miss can safely skip any further lookup.
+ * Entity ids are sequential, so ids are slotted by their low bits and only collide when they are far apart.
+ */
+@ApiStatus.Internal
+public final class EntityIdFilter {
+
+    private static final int CAPACITY = 1 << 16;
+    private static final int MASK = CAPACITY - 1;
+
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(CAPACITY);
+
+    /**
+     * Adds id
+     * @param id entity id
+     */
+    public void add(int id) {
+        counts.incrementAndGet(id & MASK);
+    }
+
+    /**
+     * Removes id added before
+     * @param id entity id
+     */
+    public void remove(int id) {
+        counts.decrementAndGet(id & MASK);
+    }
+
+    /**
+     * Checks this filter might contain given id
+     * @param id entity id
+     * @return false if this id was never added or already removed
+     */
+    public boolean mightContain(int id) {
+        return counts.get(id & MASK) > 0;
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.util;
+
+import kr.toxicity.model.api.tracker.Tracker;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Monotonic frame counter.
+ * <p>
+ * A clock is advanced by exactly one thread, and read by any thread with a single volatile read.
+ */
+@ApiStatus.Internal
+public final class FrameClock {
+
+    /**
+     * Global clock advanced by the tracker scheduler
+     */
+    public static final FrameClock GLOBAL = new FrameClock(Tracker.TRACKER_TICK_INTERVAL);
+
+    private final long interval;
+    private volatile long frame;
+
+    /**
+     * Creates frame clock
+     * @param interval frame interval in milliseconds
+     */
+    public FrameClock(long interval) {
+        if (interval <= 0) throw new RuntimeException("interval cannot be <= 0");
+        this.interval = interval;
+    }
+
+    /**
+     * Gets frame interval
+     * @return interval in milliseconds
+     */
+    public long interval() {
+        return interval;
+    }
+
+    /**
+     * Gets current frame
+     * @return frame
+     */
+    public long frame() {
+        return frame;
+    }
+
+    /**
+     * Advances one frame
+     */
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    public void advance() {
+        frame++;
+    }
+
+    /**
+     * Converts milliseconds to frames
+     * @param millis milliseconds
+     * @return frames, at least one
+     */
+    public long toFrames(long millis) {
+        return Math.max((millis + interval - 1) / interval, 1);
+    }
+}
@@ -9,12 +9,10 @@ package kr.toxicity.model.api.util;
 import kr.toxicity.model.api.util.function.BooleanConstantSupplier;
 import kr.toxicity.model.api.util.function.FloatConstantSupplier;
 import kr.toxicity.model.api.util.function.FloatSupplier;
-import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -25,6 +23,9 @@ import java.util.function.Supplier;
  */
 @ApiStatus.Internal
 public final class FunctionUtil {
+
+    private static final long TICK_FRAMES = FrameClock.GLOBAL.toFrames(MathUtil.MINECRAFT_TICK_MILLS);
+
     /**
      * No initializer
      */
@@ -54,186 +55,239 @@ public final class FunctionUtil {
     }
 
     /**
-     * Throttles this function by tick
+     * Throttles this function by one tick of global frame clock
      * @param <T> type
      * @param supplier target
      * @return throttled function
      */
-    public static <T> @NotNull Supplier<T> throttleTick(@NotNull Supplier<T> supplier) {
-        return throttleTick(MathUtil.MINECRAFT_TICK_MILLS, supplier);
+    public static <T> @NotNull Supplier<T> throttleFrame(@NotNull Supplier<T> supplier) {
+        return throttleFrame(FrameClock.GLOBAL, TICK_FRAMES, supplier);
     }
 
     /**
-     * Throttles this function by tick
+     * Throttles this function by frame
      * @param <T> type
-     * @param tick tick
+     * @param clock frame clock
+     * @param frames frames
      * @param supplier target
      * @return throttled function
      */
-    public static <T> @NotNull Supplier<T> throttleTick(long tick, @NotNull Supplier<T> supplier) {
-        return supplier instanceof TickThrottledSupplier<T> throttledSupplier ? new TickThrottledSupplier<>(tick, throttledSupplier.delegate) : new TickThrottledSupplier<>(tick, supplier);
+    public static <T> @NotNull Supplier<T> throttleFrame(@NotNull FrameClock clock, long frames, @NotNull Supplier<T> supplier) {
+        return supplier instanceof FrameThrottledSupplier<T> throttledSupplier ? new FrameThrottledSupplier<>(clock, frames, throttledSupplier.delegate) : new FrameThrottledSupplier<>(clock, frames, supplier);
     }
 
     /**
-     * Throttles this function by tick
+     * Throttles this function by one tick of global frame clock
      * @param supplier target
      * @return throttled function
      */
-    public static @NotNull FloatSupplier throttleTickFloat(@NotNull FloatSupplier supplier) {
-        return throttleTickFloat(MathUtil.MINECRAFT_TICK_MILLS, supplier);
+    public static @NotNull FloatSupplier throttleFrameFloat(@NotNull FloatSupplier supplier) {
+        return throttleFrameFloat(FrameClock.GLOBAL, TICK_FRAMES, supplier);
     }
 
     /**
-     * Throttles this function by tick
-     * @param tick tick
+     * Throttles this function by frame
+     * @param clock frame clock
+     * @param frames frames
      * @param supplier target
      * @return throttled function
      */
-    public static @NotNull FloatSupplier throttleTickFloat(long tick, @NotNull FloatSupplier supplier) {
+    public static @NotNull FloatSupplier throttleFrameFloat(@NotNull FrameClock clock, long frames, @NotNull FloatSupplier supplier) {
         return switch (supplier) {
-            case TickThrottledFloatSupplier throttledSupplier -> new TickThrottledFloatSupplier(tick, throttledSupplier.delegate);
+            case FrameThrottledFloatSupplier throttledSupplier -> new FrameThrottledFloatSupplier(clock, frames, throttledSupplier.delegate);
             case FloatConstantSupplier constantSupplier -> constantSupplier;
-            default -> new TickThrottledFloatSupplier(tick, supplier);
+            default -> new FrameThrottledFloatSupplier(clock, frames, supplier);
         };
     }
 
     /**
-     * Throttles this function by tick
+     * Throttles this function by one tick of global frame clock
+     * @param supplier target
+     * @return throttled function
+     */
+    public static @NotNull BooleanSupplier throttleFrameBoolean(@NotNull BooleanSupplier supplier) {
+        return throttleFrameBoolean(FrameClock.GLOBAL, TICK_FRAMES, supplier);
+    }
+
+    /**
+     * Throttles this function by frame
+     * @param clock frame clock
+     * @param frames frames
      * @param supplier target
      * @return throttled function
      */
-    public static @NotNull BooleanSupplier throttleTickBoolean(@NotNull BooleanSupplier supplier) {
+    public static @NotNull BooleanSupplier throttleFrameBoolean(@NotNull FrameClock clock, long frames, @NotNull BooleanSupplier supplier) {
         return switch (supplier) {
-            case TickThrottledBooleanSupplier throttledSupplier -> throttledSupplier;
+            case FrameThrottledBooleanSupplier throttledSupplier -> new FrameThrottledBooleanSupplier(clock, frames, throttledSupplier.delegate);
             case BooleanConstantSupplier booleanConstantSupplier -> booleanConstantSupplier;
-            default -> new TickThrottledBooleanSupplier(supplier);
+            default -> new FrameThrottledBooleanSupplier(clock, frames, supplier);
         };
     }
 
     /**
-     * Throttles this function by tick
+     * Throttles this function by one tick of global frame clock
+     * @param <T> type
+     * @param predicate target
+     * @return throttled function
+     */
+    public static <T> @NotNull Predicate<T> throttleFrame(@NotNull Predicate<T> predicate) {
+        return throttleFrame(FrameClock.GLOBAL, TICK_FRAMES, predicate);
+    }
+
+    /**
+     * Throttles this function by frame
      * @param <T> type
+     * @param clock frame clock
+     * @param frames frames
      * @param predicate target
      * @return throttled function
      */
-    public static <T> @NotNull Predicate<T> throttleTick(@NotNull Predicate<T> predicate) {
-        return predicate instanceof TickThrottledPredicate<T> throttledSupplier ? throttledSupplier : new TickThrottledPredicate<>(predicate);
+    public static <T> @NotNull Predicate<T> throttleFrame(@NotNull FrameClock clock, long frames, @NotNull Predicate<T> predicate) {
+        return predicate instanceof FrameThrottledPredicate<T> throttledPredicate ? new FrameThrottledPredicate<>(clock, frames, throttledPredicate.delegate) : new FrameThrottledPredicate<>(clock, frames, predicate);
     }
 
     /**
-     * Throttles this function by tick
+     * Throttles this function by one tick of global frame clock
      * @param <T> from
      * @param <R> return
      * @param function target
      * @return throttled function
      */
-    public static <T, R> @NotNull Function<T, R> throttleTick(@NotNull Function<T, R> function) {
-        return throttleTick(MathUtil.MINECRAFT_TICK_MILLS, function);
+    public static <T, R> @NotNull Function<T, R> throttleFrame(@NotNull Function<T, R> function) {
+        return throttleFrame(FrameClock.GLOBAL, TICK_FRAMES, function);
     }
 
     /**
-     * Throttles this function by tick
+     * Throttles this function by frame
      * @param <T> from
      * @param <R> return
-     * @param tick tick
+     * @param clock frame clock
+     * @param frames frames
      * @param function target
      * @return throttled function
      */
-    public static <T, R> @NotNull Function<T, R> throttleTick(long tick, @NotNull Function<T, R> function) {
-        return function instanceof TickThrottledFunction<T, R> throttledFunction ? new TickThrottledFunction<>(tick, throttledFunction.delegate) : new TickThrottledFunction<>(tick, function);
+    public static <T, R> @NotNull Function<T, R> throttleFrame(@NotNull FrameClock clock, long frames, @NotNull Function<T, R> function) {
+        return function instanceof FrameThrottledFunction<T, R> throttledFunction ? new FrameThrottledFunction<>(clock, frames, throttledFunction.delegate) : new FrameThrottledFunction<>(clock, frames, function);
     }
 
-    private static class TickThrottledSupplier<T> implements Supplier<T> {
-        private final long tick;
+    private static abstract class FrameThrottled {
+        private final FrameClock clock;
+        private final long frames;
+        private volatile long frame;
+
+        private FrameThrottled(@NotNull FrameClock clock, long frames) {
+            if (frames <= 0) throw new RuntimeException("frames cannot be <= 0");
+            this.clock = clock;
+            this.frames = frames;
+            frame = clock.frame() - frames;
+        }
+
+        protected long expired() {
+            var current = clock.frame();
+            return current - frame >= frames ? current : -1;
+        }
+
+        protected void update(long current) {
+            frame = current;
+        }
+    }
+
+    private static final class FrameThrottledSupplier<T> extends FrameThrottled implements Supplier<T> {
         private final Supplier<T> delegate;
-        private final AtomicLong time;
         private volatile T cache;
 
-        public TickThrottledSupplier(long tick, @NotNull Supplier<T> delegate) {
-            this.tick = tick;
+        private FrameThrottledSupplier(@NotNull FrameClock clock, long frames, @NotNull Supplier<T> delegate) {
+            super(clock, frames);
             this.delegate = delegate;
-            time = new AtomicLong(-tick - 1);
         }
 
         @Override
         public T get() {
-            var old = time.get();
-            var current = System.currentTimeMillis();
-            if (current - old >= tick && time.compareAndSet(old, current)) cache = delegate.get();
+            var current = expired();
+            if (current >= 0) {
+                cache = delegate.get();
+                update(current);
+            }
             return cache;
         }
     }
 
-    @RequiredArgsConstructor
-    private static class TickThrottledFloatSupplier implements FloatSupplier {
-        private final long tick;
+    private static final class FrameThrottledFloatSupplier extends FrameThrottled implements FloatSupplier {
         private final FloatSupplier delegate;
-        private final AtomicLong time;
         private volatile float cache;
 
-        public TickThrottledFloatSupplier(long tick, @NotNull FloatSupplier delegate) {
-            this.tick = tick;
+        private FrameThrottledFloatSupplier(@NotNull FrameClock clock, long frames, @NotNull FloatSupplier delegate) {
+            super(clock, frames);
             this.delegate = delegate;
-            time = new AtomicLong(-tick - 1);
         }
 
         @Override
         public float getAsFloat() {
-            var old = time.get();
-            var current = System.currentTimeMillis();
-            if (current - old >= tick && time.compareAndSet(old, current)) cache = delegate.getAsFloat();
+            var current = expired();
+            if (current >= 0) {
+                cache = delegate.getAsFloat();
+                update(current);
+            }
             return cache;
         }
     }
 
-    @RequiredArgsConstructor
-    private static class TickThrottledBooleanSupplier implements BooleanSupplier {
-        private final @NotNull BooleanSupplier delegate;
-        private final AtomicLong time = new AtomicLong(-51);
+    private static final class FrameThrottledBooleanSupplier extends FrameThrottled implements BooleanSupplier {
+        private final BooleanSupplier delegate;
         private volatile boolean cache;
 
+        private FrameThrottledBooleanSupplier(@NotNull FrameClock clock, long frames, @NotNull BooleanSupplier delegate) {
+            super(clock, frames);
+            this.delegate = delegate;
+        }
+
         @Override
         public boolean getAsBoolean() {
-            var old = time.get();
-            var current = System.currentTimeMillis();
-            if (current - old >= 50 && time.compareAndSet(old, current)) cache = delegate.getAsBoolean();
+            var current = expired();
+            if (current >= 0) {
+                cache = delegate.getAsBoolean();
+                update(current);
+            }
             return cache;
         }
     }
 
-    @RequiredArgsConstructor
-    private static class TickThrottledPredicate<T> implements Predicate<T> {
-        private final @NotNull Predicate<T> delegate;
-        private final AtomicLong time = new AtomicLong(-51);
+    private static final class FrameThrottledPredicate<T> extends FrameThrottled implements Predicate<T> {
+        private final Predicate<T> delegate;
         private volatile boolean cache;
 
+        private FrameThrottledPredicate(@NotNull FrameClock clock, long frames, @NotNull Predicate<T> delegate) {
+            super(clock, frames);
+            this.delegate = delegate;
+        }
+
         @Override
         public boolean test(T t) {
-            var old = time.get();
-            var current = System.currentTimeMillis();
-            if (current - old >= 50 && time.compareAndSet(old, current)) cache = delegate.test(t);
+            var current = expired();
+            if (current >= 0) {
+                cache = delegate.test(t);
+                update(current);
+            }
             return cache;
         }
     }
 
-    @RequiredArgsConstructor
-    private static class TickThrottledFunction<T, R> implements Function<T, R> {
-        private final long tick;
-        private final @NotNull Function<T, R> delegate;
-        private final AtomicLong time;
+    private static final class FrameThrottledFunction<T, R> extends FrameThrottled implements Function<T, R> {
+        private final Function<T, R> delegate;
         private volatile R cache;
 
-        public TickThrottledFunction(long tick, @NotNull Function<T, R> delegate) {
-            this.tick = tick;
+        private FrameThrottledFunction(@NotNull FrameClock clock, long frames, @NotNull Function<T, R> delegate) {
+            super(clock, frames);
             this.delegate = delegate;
-            time = new AtomicLong(-tick - 1);
         }
 
         @Override
         public R apply(T t) {
-            var old = time.get();
-            var current = System.currentTimeMillis();
-            if (current - old >= tick && time.compareAndSet(old, current)) cache = delegate.apply(t);
+            var current = expired();
+            if (current >= 0) {
+                cache = delegate.apply(t);
+                update(current);
+            }
             return cache;
         }
     }
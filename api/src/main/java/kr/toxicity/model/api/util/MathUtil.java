@@ -200,7 +200,17 @@ public final class MathUtil {
      * @return rotation
      */
     public static @NotNull Quaternionf toQuaternion(@NotNull Vector3f vector) {
-        return new Quaternionf()
+        return toQuaternion(vector, new Quaternionf());
+    }
+
+    /**
+     * Converts vector rotation to quaternion
+     * @param vector vector
+     * @param dest destination
+     * @return rotation
+     */
+    public static @NotNull Quaternionf toQuaternion(@NotNull Vector3f vector, @NotNull Quaternionf dest) {
+        return dest.identity()
                 .rotateZYX(
                         vector.z * DEGREES_TO_RADIANS,
                         vector.y * DEGREES_TO_RADIANS,
@@ -288,6 +298,48 @@ public final class MathUtil {
         return new Quaternionf().fromAxisAngleRad(axis.div(len), (float) Math.atan2(len, dot));
     }
 
+    /**
+     * Gets rotation from vectors without allocation
+     * @param x to x
+     * @param y to y
+     * @param z to z
+     * @param dest destination quaternion
+     * @return destination quaternion
+     */
+    public static @NotNull Quaternionf fromToRotation(float x, float y, float z, @NotNull Quaternionf dest) {
+        var fx = FORWARD_AXIS.x;
+        var fy = FORWARD_AXIS.y;
+        var fz = FORWARD_AXIS.z;
+        var invLength = 1F / (float) Math.sqrt(x * x + y * y + z * z);
+        x *= invLength;
+        y *= invLength;
+        z *= invLength;
+
+        var ax = fy * z - fz * y;
+        var ay = fz * x - fx * z;
+        var az = fx * y - fy * x;
+        var len = (float) Math.sqrt(ax * ax + ay * ay + az * az);
+        var dot = fx * x + fy * y + fz * z;
+
+        if (len < 1e-6f) {
+            if (dot > 0.999999f) return dest.identity();
+            float ox, oy, oz;
+            if (Math.abs(fx) < 0.9f) {
+                ox = 0;
+                oy = fz;
+                oz = -fy;
+            } else {
+                ox = -fz;
+                oy = 0;
+                oz = fx;
+            }
+            var invOrtho = 1F / (float) Math.sqrt(ox * ox + oy * oy + oz * oz);
+            return dest.fromAxisAngleRad(ox * invOrtho, oy * invOrtho, oz * invOrtho, (float) Math.PI);
+        }
+
+        return dest.fromAxisAngleRad(ax / len, ay / len, az / len, (float) Math.atan2(len, dot));
+    }
+
     /**
      * Executes fused multiply add (a * b + c)
      * @param a a vector
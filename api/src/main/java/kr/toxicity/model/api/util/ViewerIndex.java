@@ -0,0 +1,121 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.util;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Reverse index from a viewer's uuid to the values it currently views.
+ * <p>
+ * Each set is created and dropped inside a map computation, so no empty set is left behind.
+ * When a value registers its viewers through {@link #register} and {@link #unregister},
+ * the index is updated inside the computation of the value's own viewer map, so both always agree.
+ * @param <T> value type
+ */
+@ApiStatus.Internal
+public final class ViewerIndex<T> {
+
+    private final Map<UUID, Set<T>> viewerMap = new ConcurrentHashMap<>();
+
+    /**
+     * Adds value to viewer
+     * @param uuid viewer's uuid
+     * @param value value
+     */
+    public void add(@NotNull UUID uuid, @NotNull T value) {
+        viewerMap.compute(uuid, (k, v) -> {
+            if (v == null) v = ConcurrentHashMap.newKeySet();
+            v.add(value);
+            return v;
+        });
+    }
+
+    /**
+     * Removes value from viewer
+     * @param uuid viewer's uuid
+     * @param value value
+     */
+    public void remove(@NotNull UUID uuid, @NotNull T value) {
+        viewerMap.computeIfPresent(uuid, (k, v) -> {
+            v.remove(value);
+            return v.isEmpty() ? null : v;
+        });
+    }
+
+    /**
+     * Registers viewer to value's viewer map
+     * @param viewedMap value's viewer map
+     * @param uuid viewer's uuid
+     * @param value value
+     * @param factory viewer data factory
+     * @return registered viewer data
+     * @param <V> viewer data type
+     */
+    public <V> @NotNull V register(@NotNull ConcurrentMap<UUID, V> viewedMap, @NotNull UUID uuid, @NotNull T value, @NotNull Function<UUID, V> factory) {
+        return viewedMap.computeIfAbsent(uuid, u -> {
+            add(u, value);
+            return factory.apply(u);
+        });
+    }
+
+    /**
+     * Unregisters viewer from value's viewer map
+     * @param viewedMap value's viewer map
+     * @param uuid viewer's uuid
+     * @param value value
+     * @return removed viewer data or null
+     * @param <V> viewer data type
+     */
+    public <V> @Nullable V unregister(@NotNull ConcurrentMap<UUID, V> viewedMap, @NotNull UUID uuid, @NotNull T value) {
+        var removed = new AtomicReference<V>();
+        viewedMap.computeIfPresent(uuid, (u, v) -> {
+            remove(u, value);
+            removed.set(v);
+            return null;
+        });
+        return removed.get();
+    }
+
+    /**
+     * Unregisters all viewers from value's viewer map
+     * @param viewedMap value's viewer map
+     * @param value value
+     * @param <V> viewer data type
+     */
+    public <V> void unregisterAll(@NotNull ConcurrentMap<UUID, V> viewedMap, @NotNull T value) {
+        for (UUID uuid : viewedMap.keySet()) {
+            unregister(viewedMap, uuid, value);
+        }
+    }
+
+    /**
+     * Gets values viewed by viewer
+     * @param uuid viewer's uuid
+     * @return snapshot of values
+     */
+    public @NotNull @Unmodifiable List<T> get(@NotNull UUID uuid) {
+        var set = viewerMap.get(uuid);
+        return set != null ? List.copyOf(set) : Collections.emptyList();
+    }
+
+    /**
+     * Gets the number of indexed viewers
+     * @return size
+     */
+    public int size() {
+        return viewerMap.size();
+    }
+}
@@ -6,6 +6,7 @@
  */
 package kr.toxicity.model.api.util.lazy;
 
+import kr.toxicity.model.api.util.FrameClock;
 import kr.toxicity.model.api.util.FunctionUtil;
 import kr.toxicity.model.api.util.InterpolationUtil;
 import kr.toxicity.model.api.util.function.FloatSupplier;
@@ -90,18 +91,18 @@ public final class LazyFloatProvider {
 
     /**
      * Gets lazy provider of vector
-     * @param tick throttle tick
+     * @param frames throttle frames of global frame clock
      * @param requiredTime required time
      * @param delegate source provider
      * @return lazy provider
      */
-    public static @NotNull Supplier<Vector3f> ofVector(long tick, @NotNull FloatSupplier requiredTime, @NotNull Supplier<Vector3f> delegate) {
+    public static @NotNull Supplier<Vector3f> ofVector(long frames, @NotNull FloatSupplier requiredTime, @NotNull Supplier<Vector3f> delegate) {
         Objects.requireNonNull(requiredTime);
         Objects.requireNonNull(delegate);
         var xLazy = new LazyFloatProvider(requiredTime);
         var yLazy = new LazyFloatProvider(requiredTime);
         var zLazy = new LazyFloatProvider(requiredTime);
-        return FunctionUtil.throttleTick(tick, () -> {
+        return FunctionUtil.throttleFrame(FrameClock.GLOBAL, frames, () -> {
             var get = delegate.get();
             get.x = xLazy.updateAndGet(get.x);
             get.y = yLazy.updateAndGet(get.y);
@@ -0,0 +1,74 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+import kr.toxicity.model.api.animation.AnimationEventHandler
+import kr.toxicity.model.api.animation.AnimationIterator
+import kr.toxicity.model.api.animation.AnimationModifier
+import kr.toxicity.model.api.animation.AnimationMovement
+import kr.toxicity.model.api.animation.AnimationStateHandler
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+
+class AnimationStateHandlerTest {
+
+    private companion object {
+        const val MAX_FRAME = 10000
+    }
+
+    @Test
+    fun testSameLengthAtAnyStep() {
+        val keyframes = listOf(0F, 0.15F, 0.15F, 0.15F, 0.05F, 0.15F, 0.3F, 0.15F).map(::AnimationMovement)
+        val expected = finishFrame(keyframes, 1)
+        listOf(2, 5, 10).forEach { step ->
+            assertEquals((expected + step - 1) / step * step, finishFrame(keyframes, step), "Step $step is out of sync.")
+        }
+    }
+
+    @Test
+    fun testSameKeyframeAtAnyStep() {
+        val keyframes = List(20) { AnimationMovement(0.15F) }
+        val expected = keyframeAt(keyframes, 1)
+        listOf(2, 5, 10).forEach { step ->
+            keyframeAt(keyframes, step).forEachIndexed { index, keyframe ->
+                val frame = (index + 1) * step
+                if (frame < expected.size) assertEquals(expected[frame - 1], keyframe, "Step $step shows another keyframe at frame $frame.")
+            }
+        }
+    }
+
+    private fun finishFrame(keyframes: List<AnimationMovement>, step: Int): Int {
+        var removed = false
+        val handler = handler(keyframes) { removed = true }
+        handler.tick(step) {}
+        var frame = 0
+        while (!removed && frame < MAX_FRAME) {
+            frame += step
+            handler.tick(step) {}
+        }
+        return frame
+    }
+
+    private fun keyframeAt(keyframes: List<AnimationMovement>, step: Int): List<Int> {
+        var removed = false
+        val handler = handler(keyframes) { removed = true }
+        handler.tick(step) {}
+        return buildList {
+            while (!removed && size < MAX_FRAME) {
+                handler.tick(step) {}
+                add(keyframes.indexOfFirst { it === handler.afterKeyframe() })
+            }
+        }
+    }
+
+    private fun handler(keyframes: List<AnimationMovement>, onRemove: () -> Unit) = AnimationStateHandler(AnimationMovement.EMPTY) { _, _ -> }.apply {
+        addAnimation(
+            "test",
+            AnimationIterator.Type.PLAY_ONCE.create(keyframes),
+            AnimationModifier.DEFAULT_WITH_PLAY_ONCE,
+            AnimationEventHandler.start().onAnimationRemove(onRemove)
+        )
+    }
+}
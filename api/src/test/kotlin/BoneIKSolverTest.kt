@@ -0,0 +1,110 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+import kr.toxicity.model.api.bone.BoneIKSolver
+import kr.toxicity.model.api.bone.BoneMovement
+import kr.toxicity.model.api.util.InterpolationUtil
+import kr.toxicity.model.api.util.MathUtil
+import org.joml.Quaternionf
+import org.joml.Vector3f
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import kotlin.math.abs
+import kotlin.random.Random
+
+class BoneIKSolverTest {
+
+    private companion object {
+        const val EPSILON = 1E-4F
+        const val MAX_ITERATION = 20
+    }
+
+    @Test
+    fun testSameAsReference() {
+        val random = Random(188)
+        repeat(1000) {
+            val size = random.nextInt(2, 8)
+            val positions = List(size) { random.vector() }
+            val rotations = List(size) { random.rotation() }
+            val parent = random.rotation()
+            val target = random.vector()
+
+            val expected = movements(positions, rotations)
+            reference(expected, parent, target)
+            val actual = movements(positions, rotations).toTypedArray()
+            assertTrue(BoneIKSolver.Chain(size).solve(actual, parent, target, MathUtil.FRAME_EPSILON, MAX_ITERATION))
+
+            expected.forEachIndexed { i, movement ->
+                assertEquals(0F, movement.position().distance(actual[i].position()), EPSILON, "Joint $i is too far.")
+                assertEquals(1F, abs(movement.rotation().dot(actual[i].rotation())), EPSILON, "Joint $i is rotated.")
+            }
+        }
+    }
+
+    @Test
+    fun testSkipUnmoved() {
+        val random = Random(188)
+        val positions = List(4) { random.vector() }
+        val rotations = List(4) { random.rotation() }
+        val parent = random.rotation()
+        val target = random.vector()
+        val chain = BoneIKSolver.Chain(4)
+
+        val solved = movements(positions, rotations).toTypedArray()
+        assertTrue(chain.solve(solved, parent, target, MathUtil.FRAME_EPSILON, MAX_ITERATION))
+        val result = solved.map { Vector3f(it.position()) to Quaternionf(it.rotation()) }
+        assertFalse(chain.solve(solved, parent, target, MathUtil.FRAME_EPSILON, MAX_ITERATION))
+
+        val animated = movements(positions, rotations).toTypedArray()
+        assertFalse(chain.solve(animated, parent, target, MathUtil.FRAME_EPSILON, MAX_ITERATION))
+        listOf(solved, animated).forEach { movements ->
+            movements.forEachIndexed { i, movement ->
+                assertEquals(result[i].first, movement.position())
+                assertEquals(result[i].second, movement.rotation())
+            }
+        }
+    }
+
+    private fun Random.vector() = Vector3f(nextFloat() * 4 - 2, nextFloat() * 4 - 2, nextFloat() * 4 - 2)
+    private fun Random.rotation() = Quaternionf().rotateXYZ(nextFloat() * 3, nextFloat() * 3, nextFloat() * 3)
+
+    private fun movements(positions: List<Vector3f>, rotations: List<Quaternionf>) = positions.indices.map {
+        BoneMovement(Vector3f(positions[it]), Vector3f(1F), Quaternionf(rotations[it]), Vector3f())
+    }
+
+    private fun reference(bones: List<BoneMovement>, parentRot: Quaternionf, target: Vector3f) {
+        val first = bones.first().position()
+        val last = bones.last().position()
+        val rootPos = Vector3f(first)
+        val lengths = FloatArray(bones.size - 1) { bones[it].position().distance(bones[it + 1].position()) }
+        for (iter in 0..<MAX_ITERATION) {
+            last.set(target)
+            for (i in bones.size - 2 downTo 0) {
+                val current = bones[i].position()
+                val next = bones[i + 1].position()
+                val dist = current.distance(next)
+                if (dist < MathUtil.FLOAT_COMPARISON_EPSILON) continue
+                InterpolationUtil.lerp(next, current, lengths[i] / dist, current)
+            }
+            first.set(rootPos)
+            for (i in 0..<bones.size - 1) {
+                val current = bones[i].position()
+                val next = bones[i + 1].position()
+                val dist = current.distance(next)
+                if (dist < MathUtil.FLOAT_COMPARISON_EPSILON) continue
+                InterpolationUtil.lerp(current, next, lengths[i] / dist, next)
+            }
+            if (last.distance(target) < MathUtil.FRAME_EPSILON) break
+        }
+        for (i in 0..<bones.size - 1) {
+            val current = bones[i]
+            val dir = bones[i + 1].position().sub(current.position(), Vector3f())
+            current.rotation().set(MathUtil.fromToRotation(dir).mul(parentRot).mul(current.rotation()))
+        }
+    }
+}
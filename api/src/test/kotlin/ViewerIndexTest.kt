@@ -0,0 +1,63 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+import kr.toxicity.model.api.util.ViewerIndex
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+
+class ViewerIndexTest {
+
+    private class Registry(val name: Int) {
+        val viewedMap: ConcurrentMap<UUID, UUID> = ConcurrentHashMap()
+    }
+
+    @Test
+    fun testConcurrentSpawnAndRemove() {
+        val index = ViewerIndex<Registry>()
+        val registries = List(64) { Registry(it) }
+        val players = List(32) { UUID.randomUUID() }
+        val threads = 8
+        val pool = Executors.newFixedThreadPool(threads)
+        val start = CountDownLatch(1)
+        val futures = List(threads) {
+            pool.submit {
+                start.await()
+                val random = ThreadLocalRandom.current()
+                repeat(50_000) {
+                    val registry = registries[random.nextInt(registries.size)]
+                    val player = players[random.nextInt(players.size)]
+                    when (random.nextInt(10)) {
+                        0 -> index.unregisterAll(registry.viewedMap, registry)
+                        in 1..5 -> index.register(registry.viewedMap, player, registry) { it }
+                        else -> index.unregister(registry.viewedMap, player, registry)
+                    }
+                }
+            }
+        }
+        start.countDown()
+        futures.forEach { it.get() }
+        pool.shutdown()
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS))
+
+        players.forEach { player ->
+            val expected = registries.filter { player in it.viewedMap }.map(Registry::name).toSet()
+            val actual = index.get(player).map(Registry::name).toSet()
+            assertEquals(expected, actual, "Index of $player is inconsistent.")
+        }
+        assertEquals(players.count { player -> registries.any { player in it.viewedMap } }, index.size())
+
+        registries.forEach { index.unregisterAll(it.viewedMap, it) }
+        assertEquals(0, index.size())
+    }
+}
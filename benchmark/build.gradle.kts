@@ -0,0 +1,20 @@
+plugins {
+    alias(libs.plugins.convention.standard)
+    alias(libs.plugins.jmh)
+}
+
+val minecraft = property("minecraft_version").toString()
+
+dependencies {
+    jmh(project(":api"))
+    jmh("io.papermc.paper:paper-api:$minecraft-R0.1-SNAPSHOT")
+    jmh(libs.bundles.library)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    resultFormat = "JSON"
+}
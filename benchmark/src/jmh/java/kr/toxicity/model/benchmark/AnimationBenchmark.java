@@ -0,0 +1,100 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import it.unimi.dsi.fastutil.floats.FloatAVLTreeSet;
+import it.unimi.dsi.fastutil.floats.FloatSortedSet;
+import kr.toxicity.model.api.animation.AnimationEventHandler;
+import kr.toxicity.model.api.animation.AnimationIterator;
+import kr.toxicity.model.api.animation.AnimationModifier;
+import kr.toxicity.model.api.animation.AnimationMovement;
+import kr.toxicity.model.api.animation.AnimationStateHandler;
+import kr.toxicity.model.api.bone.BoneName;
+import kr.toxicity.model.api.data.blueprint.AnimationGenerator;
+import kr.toxicity.model.api.data.blueprint.BlueprintAnimator;
+import kr.toxicity.model.api.data.blueprint.BlueprintElement;
+import kr.toxicity.model.api.util.InterpolationUtil;
+import kr.toxicity.model.api.util.MathUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of animation baking and keyframe ticking.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimationBenchmark {
+
+    @Param({ "50", "100", "200" })
+    private int bones;
+
+    private List<BlueprintElement> children;
+    private Map<BoneName, BlueprintAnimator.AnimatorData> animatorData;
+    private BlueprintAnimator.AnimatorData firstAnimatorData;
+    private FloatSortedSet keyframeTimes;
+    private AnimationStateHandler<AnimationMovement> stateHandler;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkEnvironment.initialize();
+        var model = SyntheticModel.of(bones);
+        var blueprint = model.blueprint();
+        children = blueprint.group();
+        animatorData = model.animatorData();
+        firstAnimatorData = animatorData.values().iterator().next();
+        keyframeTimes = new FloatAVLTreeSet(MathUtil.FRAME_COMPARATOR);
+        firstAnimatorData.allPoints().forEach(point -> keyframeTimes.add(point.time()));
+        InterpolationUtil.insertLerpFrame(keyframeTimes);
+        var keyframes = blueprint.animations()
+                .get(SyntheticModel.ANIMATION)
+                .animator()
+                .values()
+                .iterator()
+                .next()
+                .keyframes();
+        stateHandler = new AnimationStateHandler<>(AnimationMovement.EMPTY, (before, after) -> {});
+        stateHandler.addAnimation(
+                SyntheticModel.ANIMATION,
+                AnimationIterator.Type.LOOP.create(keyframes),
+                AnimationModifier.DEFAULT,
+                AnimationEventHandler.start()
+        );
+    }
+
+    @Benchmark
+    public Map<BoneName, BlueprintAnimator> createMovements() {
+        return AnimationGenerator.createMovements(2F, children, animatorData);
+    }
+
+    @Benchmark
+    public List<AnimationMovement> buildAnimation() {
+        return InterpolationUtil.buildAnimation(
+                firstAnimatorData.position(),
+                firstAnimatorData.rotation(),
+                firstAnimatorData.scale(),
+                firstAnimatorData.rotationGlobal(),
+                keyframeTimes
+        );
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void stateHandlerTick(Blackhole blackhole) {
+        for (int i = 0; i < 100; i++) {
+            blackhole.consume(stateHandler.tick());
+        }
+    }
+}
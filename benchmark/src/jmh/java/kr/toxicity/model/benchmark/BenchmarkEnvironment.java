@@ -0,0 +1,92 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import kr.toxicity.model.api.BetterModel;
+import kr.toxicity.model.api.BetterModelConfig;
+import kr.toxicity.model.api.BetterModelPlugin;
+import kr.toxicity.model.api.nms.ModelDisplay;
+import kr.toxicity.model.api.nms.NMS;
+import kr.toxicity.model.api.nms.NMSVersion;
+import kr.toxicity.model.api.version.MinecraftVersion;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import static java.util.Map.entry;
+
+/**
+ * Headless environment of benchmarks.
+ * <p>
+ * Registers a stub server and a stub plugin, so api code runs without a Bukkit server.
+ */
+public final class BenchmarkEnvironment {
+
+    private static final Logger LOGGER = Logger.getLogger("BetterModel-Benchmark");
+    private static boolean initialized;
+
+    /**
+     * No initializer
+     */
+    private BenchmarkEnvironment() {
+        throw new RuntimeException();
+    }
+
+    /**
+     * Initializes headless environment once
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized void initialize() {
+        if (initialized) return;
+        initialized = true;
+        if (Bukkit.getServer() == null) Bukkit.setServer(Stubs.of(Server.class, Map.ofEntries(
+                entry("getLogger", LOGGER),
+                entry("getName", "BetterModel-Benchmark"),
+                entry("getVersion", "benchmark"),
+                entry("getBukkitVersion", "benchmark"),
+                entry("getViewDistance", 10),
+                entry("getSimulationDistance", 10),
+                entry("isPrimaryThread", true)
+        )));
+        var config = Stubs.of(BetterModelConfig.class, Map.ofEntries(
+                entry("namespace", "bettermodel"),
+                entry("itemNamespace", "bm_models"),
+                entry("buildFolderLocation", "build"),
+                entry("animatedTextureFrameTime", 10),
+                entry("lerpFrameTime", 3),
+                entry("packetBundlingSize", 16),
+                entry("maxSight", 45D),
+                entry("minSight", 5D),
+                entry("ikTolerance", 0.001F)
+        ));
+        var nms = Stubs.of(NMS.class, Map.ofEntries(
+                entry("version", NMSVersion.latest()),
+                entry("create", (Stubs.Answer) args -> {
+                    var display = Stubs.of(ModelDisplay.class);
+                    ((Consumer<ModelDisplay>) args[2]).accept(display);
+                    return display;
+                }),
+                entry("createBundler", (Stubs.Answer) args -> new CountingBundler()),
+                entry("createLazyBundler", (Stubs.Answer) args -> new CountingBundler()),
+                entry("createParallelBundler", (Stubs.Answer) args -> new CountingBundler()),
+                entry("tint", (Stubs.Answer) args -> args[0]),
+                entry("createHitBox", (Stubs.Answer) args -> null)
+        ));
+        BetterModel.register(Stubs.of(BetterModelPlugin.class, Map.ofEntries(
+                entry("getLogger", LOGGER),
+                entry("getName", "BetterModel"),
+                entry("isEnabled", true),
+                entry("config", config),
+                entry("nms", nms),
+                entry("version", MinecraftVersion.V1_21_10),
+                entry("getResource", (Stubs.Answer) args -> null)
+        )));
+    }
+}
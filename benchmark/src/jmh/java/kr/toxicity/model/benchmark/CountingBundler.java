@@ -0,0 +1,48 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import kr.toxicity.model.api.nms.PacketBundler;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Packet bundler which only counts packets.
+ */
+public final class CountingBundler implements PacketBundler {
+
+    private int size;
+
+    /**
+     * Adds one packet
+     */
+    public void add() {
+        size++;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void send(@NotNull Player player, @NotNull Runnable onSuccess) {
+        size = 0;
+        onSuccess.run();
+    }
+
+    @Override
+    public boolean reset() {
+        size = 0;
+        return true;
+    }
+}
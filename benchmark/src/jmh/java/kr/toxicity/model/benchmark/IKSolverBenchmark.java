@@ -0,0 +1,114 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import kr.toxicity.model.api.bone.BoneIKSolver;
+import kr.toxicity.model.api.bone.BoneMovement;
+import kr.toxicity.model.api.util.InterpolationUtil;
+import kr.toxicity.model.api.util.MathUtil;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of FABRIK solving on one bone chain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IKSolverBenchmark {
+
+    private static final int MAX_IK_ITERATION = 20;
+
+    @Param({ "3", "8", "16" })
+    private int bones;
+
+    private BoneMovement[] movements;
+    private List<BoneMovement> movementList;
+    private float[] lengths;
+    private BoneIKSolver.Chain chain;
+    private final Quaternionf parentRotation = new Quaternionf().rotateXYZ(0.3F, 0.2F, 0.1F);
+    private final Vector3f target = new Vector3f();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        movements = new BoneMovement[bones];
+        for (int i = 0; i < bones; i++) {
+            movements[i] = new BoneMovement(
+                    new Vector3f(0, i * 0.5F, 0),
+                    new Vector3f(1),
+                    new Quaternionf().rotateZ(i * 0.1F),
+                    new Vector3f()
+            );
+        }
+        movementList = Arrays.asList(movements);
+        lengths = new float[bones - 1];
+        chain = new BoneIKSolver.Chain(bones);
+        target.set(bones * 0.2F, bones * 0.3F, bones * 0.1F);
+    }
+
+    @Benchmark
+    public boolean solve() {
+        target.x = -target.x;
+        return chain.solve(movements, parentRotation, target, MathUtil.FRAME_EPSILON, MAX_IK_ITERATION);
+    }
+
+    @Benchmark
+    public boolean solveUnmoved() {
+        return chain.solve(movements, parentRotation, target, MathUtil.FRAME_EPSILON, MAX_IK_ITERATION);
+    }
+
+    @Benchmark
+    public BoneMovement legacySolve() {
+        target.x = -target.x;
+        legacyFabrik(movementList, parentRotation, lengths, target);
+        return movements[0];
+    }
+
+    private static void legacyFabrik(List<BoneMovement> bones, Quaternionf parentRot, float[] lengths, Vector3f target) {
+        var first = bones.getFirst().position();
+        var last = bones.getLast().position();
+
+        var rootPos = new Vector3f(first);
+
+        for (int i = 0; i < bones.size() - 1; i++) {
+            lengths[i] = bones.get(i).position().distance(bones.get(i + 1).position());
+        }
+        for (int iter = 0; iter < MAX_IK_ITERATION; iter++) {
+            last.set(target);
+            for (int i = bones.size() - 2; i >= 0; i--) {
+                var current = bones.get(i).position();
+                var next = bones.get(i + 1).position();
+                var dist = current.distance(next);
+                if (dist < MathUtil.FLOAT_COMPARISON_EPSILON) continue;
+                InterpolationUtil.lerp(next, current, lengths[i] / dist, current);
+            }
+            first.set(rootPos);
+            for (int i = 0; i < bones.size() - 1; i++) {
+                var current = bones.get(i).position();
+                var next = bones.get(i + 1).position();
+                var dist = current.distance(next);
+                if (dist < MathUtil.FLOAT_COMPARISON_EPSILON) continue;
+                InterpolationUtil.lerp(current, next, lengths[i] / dist, next);
+            }
+            if (last.distance(target) < MathUtil.FRAME_EPSILON) break;
+        }
+        for (int i = 0; i < bones.size() - 1; i++) {
+            var current = bones.get(i);
+            var next = bones.get(i + 1);
+            var dir = next.position().sub(current.position(), new Vector3f());
+            current.rotation().set(MathUtil.fromToRotation(dir).mul(parentRot).mul(current.rotation()));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import kr.toxicity.model.api.data.blueprint.ModelBlueprint;
+import kr.toxicity.model.api.data.raw.ModelData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of .bbmodel parsing and blueprint loading.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelDataBenchmark {
+
+    @Param({ "50", "100", "200" })
+    private int bones;
+
+    private SyntheticModel model;
+    private ModelData data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkEnvironment.initialize();
+        model = SyntheticModel.of(bones);
+        data = model.data();
+    }
+
+    @Benchmark
+    public ModelData parse() {
+        return model.data();
+    }
+
+    @Benchmark
+    public ModelBlueprint loadBlueprint() {
+        return data.loadBlueprint(model.json(), false).blueprint();
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import kr.toxicity.model.api.pack.PackResource;
+import kr.toxicity.model.api.pack.PackZipper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of resource pack building.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackZipperBenchmark {
+
+    @Param({ "100", "1000" })
+    private int resources;
+
+    private PackZipper zipper;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkEnvironment.initialize();
+    }
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        zipper = PackZipper.zipper();
+        var models = zipper.assets().bettermodel().models();
+        for (int i = 0; i < resources; i++) {
+            var json = "{\"parent\":\"item/generated\",\"textures\":{\"layer0\":\"bettermodel:item/bone_" + i + "\"}}";
+            models.add("bone_" + i + ".json", () -> json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public void build(Blackhole blackhole) {
+        for (PackResource resource : zipper.build().resources()) {
+            blackhole.consume(resource.get());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import kr.toxicity.model.api.animation.AnimationEventHandler;
+import kr.toxicity.model.api.animation.AnimationModifier;
+import kr.toxicity.model.api.data.renderer.RenderPipeline;
+import kr.toxicity.model.api.data.renderer.RenderSource;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static kr.toxicity.model.api.util.CollectionUtil.mapValue;
+
+/**
+ * Benchmarks of one render pipeline tick on a synthetic model with a running animation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderPipelineBenchmark {
+
+    @Param({ "50", "100", "200" })
+    private int bones;
+
+    private RenderPipeline pipeline;
+    private CountingBundler bundler;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkEnvironment.initialize();
+        var renderer = SyntheticModel.of(bones).renderer();
+        var source = RenderSource.of(new Location(null, 0, 0, 0));
+        pipeline = new RenderPipeline(renderer, source, mapValue(renderer.rendererGroups(), group -> group.create(source)));
+        pipeline.animate(
+                bone -> true,
+                renderer.animations().get(SyntheticModel.ANIMATION),
+                AnimationModifier.DEFAULT,
+                AnimationEventHandler.start()
+        );
+        bundler = new CountingBundler();
+    }
+
+    @Benchmark
+    public boolean tick() {
+        bundler.reset();
+        return pipeline.tick(bundler);
+    }
+}
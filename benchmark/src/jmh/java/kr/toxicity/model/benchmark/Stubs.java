@@ -0,0 +1,111 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Proxy based stub of headless interfaces.
+ * <p>
+ * Every abstract method returns the value registered with its name, or an empty default value of its return type.
+ * Every call that takes a {@link CountingBundler} records one packet to it, like a real display does.
+ */
+public final class Stubs {
+
+    private static final AtomicInteger ENTITY_ID = new AtomicInteger();
+
+    /**
+     * No initializer
+     */
+    private Stubs() {
+        throw new RuntimeException();
+    }
+
+    /**
+     * Dynamic stub answer
+     */
+    @FunctionalInterface
+    public interface Answer {
+        /**
+         * Answers method call
+         * @param args arguments
+         * @return return value
+         */
+        @Nullable Object answer(@NotNull Object[] args);
+    }
+
+    /**
+     * Creates stub
+     * @param type interface type
+     * @return stub
+     * @param <T> type
+     */
+    public static <T> @NotNull T of(@NotNull Class<T> type) {
+        return of(type, Map.of());
+    }
+
+    /**
+     * Creates stub
+     * @param type interface type
+     * @param values value or {@link Answer} by method name
+     * @return stub
+     * @param <T> type
+     */
+    public static <T> @NotNull T of(@NotNull Class<T> type, @NotNull Map<String, Object> values) {
+        var uuid = UUID.randomUUID();
+        var id = ENTITY_ID.incrementAndGet();
+        return type.cast(Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[] { type }, (InvocationHandler) (proxy, method, args) -> {
+            var arguments = args != null ? args : new Object[0];
+            var name = method.getName();
+            if (method.getDeclaringClass() == Object.class) return switch (name) {
+                case "equals" -> proxy == arguments[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> type.getSimpleName() + "Stub";
+            };
+            for (Object argument : arguments) {
+                if (argument instanceof CountingBundler bundler) bundler.add();
+            }
+            if (values.containsKey(name)) {
+                var value = values.get(name);
+                return value instanceof Answer answer ? answer.answer(arguments) : value;
+            }
+            if (method.isDefault()) return InvocationHandler.invokeDefault(proxy, method, args);
+            var returnType = method.getReturnType();
+            if (returnType == UUID.class) return uuid;
+            if (returnType == int.class && name.equals("id")) return id;
+            return defaultValue(returnType);
+        }));
+    }
+
+    private static @Nullable Object defaultValue(@NotNull Class<?> type) {
+        if (type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0F;
+        if (type == double.class) return 0D;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return (char) 0;
+        if (type == String.class) return "";
+        if (type == Optional.class) return Optional.empty();
+        if (type == Stream.class) return Stream.empty();
+        if (type == List.class || type == Collection.class) return List.of();
+        if (type == Set.class) return Set.of();
+        if (type == Map.class) return Map.of();
+        if (type.isEnum()) return type.getEnumConstants()[0];
+        if (type.isInterface() && !type.isSealed()) return of(type);
+        return null;
+    }
+}
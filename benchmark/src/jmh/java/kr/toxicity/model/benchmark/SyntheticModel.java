@@ -0,0 +1,223 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import kr.toxicity.model.api.animation.VectorPoint;
+import kr.toxicity.model.api.bone.BoneName;
+import kr.toxicity.model.api.bone.BoneTagRegistry;
+import kr.toxicity.model.api.data.blueprint.BlueprintAnimator;
+import kr.toxicity.model.api.data.blueprint.BlueprintElement;
+import kr.toxicity.model.api.data.blueprint.ModelBlueprint;
+import kr.toxicity.model.api.data.raw.ModelData;
+import kr.toxicity.model.api.data.renderer.ModelRenderer;
+import kr.toxicity.model.api.data.renderer.RendererGroup;
+import kr.toxicity.model.api.util.function.FloatFunction;
+import kr.toxicity.model.api.util.interpolator.VectorInterpolator;
+import kr.toxicity.model.api.util.json.JsonObjectBuilder;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.joml.Vector3f;
+
+import java.util.*;
+
+/**
+ * Synthetic model with binary bone tree and one looped animation.
+ * @param bones amount of bones
+ * @param json raw .bbmodel json
+ */
+public record SyntheticModel(int bones, @NotNull String json) {
+
+    /**
+     * Animation name
+     */
+    public static final String ANIMATION = "idle";
+    private static final float LENGTH = 2F;
+    private static final VectorPoint.BezierConfig NO_BEZIER = new VectorPoint.BezierConfig(null, null, null, null);
+
+    /**
+     * Creates synthetic model
+     * @param bones amount of bones
+     * @return model
+     */
+    public static @NotNull SyntheticModel of(int bones) {
+        if (bones <= 0) throw new RuntimeException("bones cannot be <= 0");
+        var outliners = new JsonObject[bones];
+        var animators = new JsonObject();
+        for (int i = 0; i < bones; i++) {
+            var outliner = JsonObjectBuilder.builder()
+                    .property("name", boneName(i))
+                    .property("uuid", uuid(i))
+                    .jsonArray("origin", array(0, i, 0))
+                    .jsonArray("rotation", array(0, 0, 0))
+                    .jsonArray("children", new JsonArray())
+                    .build();
+            outliners[i] = outliner;
+            if (i > 0) outliners[parent(i)].getAsJsonArray("children").add(outliner);
+            animators.add(uuid(i), JsonObjectBuilder.builder()
+                    .property("name", boneName(i))
+                    .property("type", "bone")
+                    .jsonArray("keyframes", keyframes(i))
+                    .build());
+        }
+        var animation = JsonObjectBuilder.builder()
+                .property("name", ANIMATION)
+                .property("loop", "loop")
+                .property("override", false)
+                .property("uuid", new UUID(0, 0).toString())
+                .property("length", LENGTH)
+                .jsonObject("animators", animators)
+                .build();
+        var root = new JsonArray();
+        root.add(outliners[0]);
+        var animations = new JsonArray();
+        animations.add(animation);
+        return new SyntheticModel(bones, JsonObjectBuilder.builder()
+                .jsonObject("meta", meta -> meta.property("format_version", "4.10"))
+                .jsonObject("resolution", resolution -> resolution
+                        .property("width", 16)
+                        .property("height", 16))
+                .jsonArray("elements", new JsonArray())
+                .jsonArray("outliner", root)
+                .jsonArray("textures", new JsonArray())
+                .jsonArray("animations", animations)
+                .build()
+                .toString());
+    }
+
+    /**
+     * Parses raw json
+     * @return model data
+     */
+    public @NotNull ModelData data() {
+        return ModelData.GSON.fromJson(json, ModelData.class);
+    }
+
+    /**
+     * Loads blueprint
+     * @return blueprint
+     */
+    public @NotNull ModelBlueprint blueprint() {
+        return data().loadBlueprint("synthetic_" + bones, false).blueprint();
+    }
+
+    /**
+     * Creates renderer like model manager does, with a display item on every bone
+     * @return renderer
+     */
+    public @NotNull ModelRenderer renderer() {
+        var blueprint = blueprint();
+        return new ModelRenderer(
+                blueprint.name(),
+                ModelRenderer.Type.GENERAL,
+                groups(blueprint.group()),
+                blueprint.animations()
+        );
+    }
+
+    /**
+     * Creates animator data of each bone
+     * @return animator data
+     */
+    public @NotNull Map<BoneName, BlueprintAnimator.AnimatorData> animatorData() {
+        var map = new LinkedHashMap<BoneName, BlueprintAnimator.AnimatorData>(bones);
+        for (int i = 0; i < bones; i++) {
+            var angle = 15F * (i % 3 + 1);
+            map.put(BoneTagRegistry.parse(boneName(i)), new BlueprintAnimator.AnimatorData(
+                    boneName(i),
+                    List.of(
+                            point(0F, 0F, 0F, 0F, VectorInterpolator.LINEAR),
+                            point(0F, 0.25F, 0F, 1F, VectorInterpolator.LINEAR),
+                            point(0F, 0F, 0F, LENGTH, VectorInterpolator.LINEAR)
+                    ),
+                    List.of(
+                            point(0F, 0F, 0F, 0F, VectorInterpolator.LINEAR),
+                            point(0.1F, 0.1F, 0.1F, LENGTH, VectorInterpolator.LINEAR)
+                    ),
+                    List.of(
+                            point(0F, 0F, 0F, 0F, VectorInterpolator.CATMULLROM),
+                            point(angle, 0F, 0F, 0.5F, VectorInterpolator.CATMULLROM),
+                            point(0F, angle, 0F, 1F, VectorInterpolator.CATMULLROM),
+                            point(0F, 0F, 0F, LENGTH, VectorInterpolator.CATMULLROM)
+                    ),
+                    false
+            ));
+        }
+        return map;
+    }
+
+    private static @NotNull Map<BoneName, RendererGroup> groups(@NotNull List<BlueprintElement> elements) {
+        var map = new LinkedHashMap<BoneName, RendererGroup>();
+        for (BlueprintElement element : elements) {
+            if (!(element instanceof BlueprintElement.Bone bone)) continue;
+            map.put(bone.name(), bone instanceof BlueprintElement.Group group ? new RendererGroup(
+                    group.scale(),
+                    new ItemStack(Material.PAPER),
+                    group,
+                    groups(group.children()),
+                    group.hitBox()
+            ) : new RendererGroup(1F, null, bone, Map.of(), null));
+        }
+        return map;
+    }
+
+    private static @NotNull VectorPoint point(float x, float y, float z, float time, @NotNull VectorInterpolator interpolator) {
+        return new VectorPoint(FloatFunction.of(new Vector3f(x, y, z)), time, NO_BEZIER, interpolator);
+    }
+
+    private static @NotNull JsonArray keyframes(int index) {
+        var angle = 15 * (index % 3 + 1);
+        var array = new JsonArray();
+        array.add(keyframe("rotation", 0, array(0, 0, 0), "catmullrom"));
+        array.add(keyframe("rotation", 0.5F, array(angle, 0, 0), "catmullrom"));
+        array.add(keyframe("rotation", 1, array(0, angle, 0), "catmullrom"));
+        array.add(keyframe("rotation", LENGTH, array(0, 0, 0), "catmullrom"));
+        array.add(keyframe("position", 0, array(0, 0, 0), "linear"));
+        array.add(keyframe("position", 1, array(0, 4, 0), "linear"));
+        array.add(keyframe("position", LENGTH, array(0, 0, 0), "linear"));
+        array.add(keyframe("scale", 0, array(1, 1, 1), "linear"));
+        array.add(keyframe("scale", LENGTH, array(1.1F, 1.1F, 1.1F), "linear"));
+        return array;
+    }
+
+    private static @NotNull JsonObject keyframe(@NotNull String channel, float time, @NotNull JsonArray value, @NotNull String interpolation) {
+        var point = new JsonObject();
+        point.addProperty("x", value.get(0).getAsString());
+        point.addProperty("y", value.get(1).getAsString());
+        point.addProperty("z", value.get(2).getAsString());
+        var points = new JsonArray();
+        points.add(point);
+        return JsonObjectBuilder.builder()
+                .property("channel", channel)
+                .jsonArray("data_points", points)
+                .property("time", time)
+                .property("interpolation", interpolation)
+                .build();
+    }
+
+    private static @NotNull JsonArray array(float x, float y, float z) {
+        var array = new JsonArray(3);
+        array.add(x);
+        array.add(y);
+        array.add(z);
+        return array;
+    }
+
+    private static int parent(int index) {
+        return (index - 1) / 2;
+    }
+
+    private static @NotNull String boneName(int index) {
+        return "bone_" + index;
+    }
+
+    private static @NotNull String uuid(int index) {
+        return new UUID(0xB0E5L, index + 1).toString();
+    }
+}
@@ -69,6 +69,8 @@ class BetterModelConfigImpl(yaml: ConfigurationSection) : BetterModelConfig {
     private val playerHideDelay = yaml.getLong("player-hide-delay", 3L).coerceAtLeast(1L)
     private val packetBundlingSize = yaml.getInt("packet-bundling-size", 16)
     private val enableStrictLoading = yaml.getBoolean("enable-strict-loading")
+    private val packetHitBox = yaml.getBoolean("packet-hitbox")
+    private val ikTolerance = yaml.getDouble("ik-tolerance", 0.001).toFloat().coerceAtLeast(0F)
 
     override fun debug(): DebugConfig = debug
     override fun indicator(): IndicatorConfig = indicator
@@ -94,4 +96,6 @@ class BetterModelConfigImpl(yaml: ConfigurationSection) : BetterModelConfig {
     override fun playerHideDelay(): Long = playerHideDelay
     override fun packetBundlingSize(): Int = packetBundlingSize
     override fun enableStrictLoading(): Boolean = enableStrictLoading
+    override fun packetHitBox(): Boolean = packetHitBox
+    override fun ikTolerance(): Float = ikTolerance
 }
\ No newline at end of file
@@ -13,6 +13,7 @@ import io.lumine.mythic.api.skills.SkillResult
 import io.lumine.mythic.bukkit.MythicBukkit
 import kr.toxicity.model.api.nms.HitBoxListener
 import kr.toxicity.model.compatibility.mythicmobs.*
+import org.bukkit.Location
 import org.bukkit.entity.Damageable
 import org.bukkit.entity.Entity
 
@@ -39,7 +40,9 @@ class BindHitBoxMechanic(mlc: MythicLineConfig) : AbstractSkillMechanic(mlc), IN
             it.createHitBox(HitBoxListener.builder()
                 .sync { hitBox ->
                     if (!spawned.isValid) hitBox.removeHitBox()
-                    else spawned.teleportAsync((hitBox as Entity).location)
+                    else spawned.teleportAsync((hitBox as? Entity)?.location ?: hitBox.relativePosition().run {
+                        Location(hitBox.source().world, x.toDouble(), y.toDouble(), z.toDouble())
+                    })
                 }
                 .damage { _, source, damage ->
                     if (spawned is Damageable) {
@@ -25,6 +25,7 @@ class ModelMechanic(mlc: MythicLineConfig) : AbstractSkillMechanic(mlc), INoTarg
     private val st = mlc.toPlaceholderBoolean(arrayOf("sight-trace", "st"), true)
     private val da = mlc.toPlaceholderBoolean(arrayOf("damageanimation", "da", "animation"), false)
     private val dt = mlc.toPlaceholderBoolean(arrayOf("damagetint", "tint", "dt"), true)
+    private val lod = mlc.toPlaceholderBoolean(arrayOf("levelofdetail", "lod"), true)
     private val r = mlc.toPlaceholderBoolean(arrayOf("remove", "r"), false)
 
     override fun cast(p0: SkillMetadata): SkillResult {
@@ -39,7 +40,8 @@ class ModelMechanic(mlc: MythicLineConfig) : AbstractSkillMechanic(mlc), INoTarg
                 it.create(e, TrackerModifier(
                     st(args),
                     da(args),
-                    dt(args)
+                    dt(args),
+                    lod(args)
                 )) { t ->
                     t.scaler(ModelScaler.entity().multiply(s(args)))
                 }
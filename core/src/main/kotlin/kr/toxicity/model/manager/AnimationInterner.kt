@@ -0,0 +1,64 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.manager
+
+import kr.toxicity.model.api.animation.AnimationKeyframes
+import kr.toxicity.model.api.data.blueprint.BlueprintAnimation
+import kr.toxicity.model.api.data.blueprint.BlueprintAnimator
+import kr.toxicity.model.api.data.blueprint.ModelBlueprint
+import kr.toxicity.model.util.toImmutableView
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Shares identical baked keyframe tracks across bones, animations and models.
+ */
+class AnimationInterner {
+
+    private val tracks = ConcurrentHashMap<AnimationKeyframes, AnimationKeyframes>()
+    private val shared = AtomicInteger()
+    private val savedBytes = AtomicLong()
+
+    val sharedTracks get() = shared.get()
+    val savedSize get() = savedBytes.get()
+
+    fun intern(keyframes: AnimationKeyframes): AnimationKeyframes {
+        val previous = tracks.putIfAbsent(keyframes, keyframes) ?: return keyframes
+        if (previous !== keyframes) {
+            shared.incrementAndGet()
+            savedBytes.addAndGet(keyframes.estimatedSize())
+        }
+        return previous
+    }
+
+    fun intern(blueprint: ModelBlueprint): ModelBlueprint {
+        if (blueprint.animations.isEmpty()) return blueprint
+        return ModelBlueprint(
+            blueprint.name,
+            blueprint.resolution,
+            blueprint.textures,
+            blueprint.group,
+            blueprint.animations.mapValuesTo(LinkedHashMap()) { (_, animation) ->
+                intern(animation)
+            }.toImmutableView()
+        )
+    }
+
+    private fun intern(animation: BlueprintAnimation) = BlueprintAnimation(
+        animation.name,
+        animation.loop,
+        animation.length,
+        animation.override,
+        animation.animator.mapValuesTo(LinkedHashMap()) { (_, animator) ->
+            val keyframe = intern(animator.keyframes)
+            if (keyframe === animator.keyframes) animator else BlueprintAnimator(animator.name, keyframe)
+        }.toImmutableView(),
+        animation.script,
+        animation.emptyAnimator
+    )
+}
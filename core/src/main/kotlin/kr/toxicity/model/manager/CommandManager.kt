@@ -241,6 +241,10 @@ object CommandManager : GlobalManager {
                             hoverEvent("Packing all model to resource pack.".toComponent().toHoverEvent())
                         },
                         "${BetterModel.models().size.withComma()} of models are loaded successfully. (${result.length().toByteFormat()})".toComponent(YELLOW),
+                        "${ModelManagerImpl.sharedAnimationTracks.withComma()} of animation tracks are shared. (${ModelManagerImpl.sharedAnimationSize.toByteFormat()} saved)".toComponent {
+                            color(GRAY)
+                            hoverEvent("Identical keyframe tracks of bones, animations and models are stored once.".toComponent().toHoverEvent())
+                        },
                         (if (result.packResult.changed()) 
                             "${result.packResult.size().withComma()} of files are zipped." 
                         else 
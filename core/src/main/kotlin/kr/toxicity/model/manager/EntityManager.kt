@@ -90,11 +90,20 @@ object EntityManager : GlobalManager {
         fun PlayerQuitEvent.quit() { //Quit
             BetterModel.registryOrNull(player.uniqueId)?.close()
             PLUGIN.scheduler().asyncTask {
-                EntityTrackerRegistry.registries { registry -> registry.remove(player) }
+                EntityTrackerRegistry.viewedRegistries(player.uniqueId).forEach { registry -> registry.remove(player) }
             }
             (player.vehicle as? HitBox)?.dismount(player)
         }
         @EventHandler(priority = EventPriority.MONITOR)
+        fun PlayerChangedWorldEvent.changeWorld() { //World change
+            val world = player.world
+            PLUGIN.scheduler().asyncTask {
+                EntityTrackerRegistry.viewedRegistries(player.uniqueId).forEach { registry ->
+                    if (registry.entity().location().world != world) registry.remove(player)
+                }
+            }
+        }
+        @EventHandler(priority = EventPriority.MONITOR)
         fun EntitiesLoadEvent.load() { //Chunk load
             entities.forEach { entity ->
                 BetterModel.registryOrNull(entity.uniqueId)?.refresh()
@@ -0,0 +1,448 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.manager
+
+import com.google.gson.JsonParser
+import kr.toxicity.model.api.animation.AnimationIterator
+import kr.toxicity.model.api.animation.AnimationMovement
+import kr.toxicity.model.api.bone.BoneTagRegistry
+import kr.toxicity.model.api.data.blueprint.*
+import kr.toxicity.model.api.data.raw.*
+import kr.toxicity.model.api.script.BlueprintScript
+import kr.toxicity.model.api.util.CollectionUtil
+import kr.toxicity.model.util.*
+import org.joml.Vector3f
+import java.io.*
+import java.lang.ref.WeakReference
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * On-disk cache of imported models.
+ *
+ * Each entry is a compact binary form of a loaded blueprint, including baked animators,
+ * keyed by the content hash of its model file and every config that changes the result of loading.
+ * Textures of a loaded blueprint are byte ranges of its entry, so they are not kept in memory until the pack is built.
+ * Before an entry is deleted, its textures that are still referenced are read into memory.
+ * Scripts are stored as raw sources and rebuilt by the current script manager.
+ */
+class ModelImportCache : AutoCloseable {
+
+    private companion object {
+        const val FORMAT_VERSION = 1
+        const val MAGIC = 0x424D4943 // BMIC
+
+        private val sources = ConcurrentHashMap<String, MutableCollection<WeakReference<EntrySource>>>()
+    }
+
+    private val folder = DATA_FOLDER.getOrCreateDirectory(".cache").getOrCreateDirectory("models")
+    private val configKey = "$FORMAT_VERSION:${PLUGIN.semver()}:${CONFIG.enableStrictLoading()}:${CONFIG.lerpFrameTime()}"
+    private val usedKeys = ConcurrentHashMap.newKeySet<String>()
+    private val hit = AtomicInteger()
+    private val miss = AtomicInteger()
+
+    fun load(file: File): ModelBlueprint? = runCatching load@ {
+        val bytes = file.readBytes()
+        val name = file.nameWithoutExtension.toPackName()
+        val key = key(name, bytes)
+        usedKeys += key
+        val cache = File(folder, "$key.bin")
+        if (cache.isFile) runCatching {
+            val input = PositionInputStream(cache.inputStream().buffered())
+            DataInputStream(input).use {
+                it.readCache(key, cache.toPath(), input)
+            }
+        }.onFailure {
+            cache.deleteEntry()
+        }.getOrNull()?.let {
+            hit.incrementAndGet()
+            return@load it.warnErrors()
+        }
+        miss.incrementAndGet()
+        val data = bytes.inputStream().reader().use {
+            ModelData.GSON.fromJson(it, ModelData::class.java)
+        }.apply { assertSupported() }
+        val result = data.loadBlueprint(name)
+        runCatching {
+            val temp = Files.createTempFile(folder.toPath(), key, ".tmp")
+            val offsets = DataOutputStream(Files.newOutputStream(temp).buffered()).use {
+                it.writeCache(result, data)
+            }
+            Files.move(temp, cache.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+            result.withTextures(key, cache.toPath(), offsets)
+        }.handleFailure {
+            "Unable to write model cache: ${file.path}"
+        }.getOrDefault(result).warnErrors()
+    }.handleFailure {
+        "Unable to load this model: ${file.path}"
+    }.getOrNull()
+
+    override fun close() {
+        folder.subFiles().forEach {
+            if (it.nameWithoutExtension !in usedKeys) it.deleteEntry()
+        }
+        debugPack {
+            "Model import cache: ${hit.get()} hit(s), ${miss.get()} miss(es)".toComponent()
+        }
+    }
+
+    private fun key(name: String, bytes: ByteArray): String {
+        val digest = MessageDigest.getInstance("SHA-256")
+        digest.update("$configKey:$name".toByteArray())
+        digest.update(bytes)
+        return HexFormat.of().formatHex(digest.digest())
+    }
+
+    private fun File.deleteEntry() {
+        sources.remove(nameWithoutExtension)?.forEach { reference ->
+            runCatching { reference.get()?.detach() }
+        }
+        delete()
+    }
+
+    private fun source(key: String, path: Path, offset: Long, size: Int): TextureSource = EntrySource(path, offset, size).also { source ->
+        sources.computeIfAbsent(key) { ConcurrentLinkedQueue() }.run {
+            removeIf { it.get() == null }
+            add(WeakReference(source))
+        }
+    }
+
+    private fun ModelLoadResult.withTextures(key: String, path: Path, offsets: List<Long>) = ModelLoadResult(
+        ModelBlueprint(
+            blueprint.name,
+            blueprint.resolution,
+            blueprint.textures.mapIndexed { index, texture ->
+                BlueprintTexture(
+                    texture.name,
+                    source(key, path, offsets[index], texture.source.size()),
+                    texture.width,
+                    texture.height,
+                    texture.uvWidth,
+                    texture.uvHeight
+                )
+            },
+            blueprint.group,
+            blueprint.animations
+        ),
+        errors
+    )
+
+    private fun ModelLoadResult.warnErrors(): ModelBlueprint {
+        if (errors.isNotEmpty()) warn(
+            *buildList {
+                add("Error has been occurred while parsing this model: ${blueprint.name}")
+                addAll(errors)
+            }.map { error -> error.toComponent() }.toTypedArray()
+        )
+        return blueprint
+    }
+
+    //Write
+
+    private fun DataOutputStream.writeCache(result: ModelLoadResult, data: ModelData): List<Long> {
+        val blueprint = result.blueprint
+        val offsets = ArrayList<Long>(blueprint.textures.size)
+        writeInt(MAGIC)
+        writeString(blueprint.name)
+        writeInt(blueprint.resolution.width)
+        writeInt(blueprint.resolution.height)
+        writeList(blueprint.textures) {
+            writeString(it.name)
+            val image = it.image()
+            writeInt(image.size)
+            offsets += size().toLong()
+            write(image)
+            writeInt(it.width)
+            writeInt(it.height)
+            writeInt(it.uvWidth)
+            writeInt(it.uvHeight)
+        }
+        writeList(blueprint.group) {
+            writeElement(it)
+        }
+        val sources = data.animations().associate {
+            it.name() to it.scriptSources(data.placeholder())
+        }
+        writeList(blueprint.animations.values.toList()) { animation ->
+            writeString(animation.name)
+            writeString(animation.loop.name)
+            writeFloat(animation.length)
+            writeBoolean(animation.override)
+            writeList(animation.animator.entries.toList()) { (name, animator) ->
+                writeString(name.rawName)
+                writeString(animator.name)
+                writeList(animator.keyframes.toList()) {
+                    writeMovement(it)
+                }
+            }
+            writeList(sources[animation.name] ?: emptyList()) {
+                writeFloat(it.time)
+                writeString(it.script)
+            }
+            writeList(animation.emptyAnimator) {
+                writeMovement(it)
+            }
+        }
+        writeList(result.errors) {
+            writeString(it)
+        }
+        return offsets
+    }
+
+    private fun DataOutputStream.writeElement(element: BlueprintElement) {
+        when (element) {
+            is BlueprintElement.Group -> {
+                writeByte(0)
+                writeUUID(element.uuid)
+                writeString(element.name.rawName)
+                writeFloat3(element.origin().invertXZ())
+                writeFloat3(element.rotation)
+                writeList(element.children) {
+                    writeElement(it)
+                }
+                writeBoolean(element.visibility)
+            }
+            is BlueprintElement.Locator -> {
+                writeByte(1)
+                writeUUID(element.uuid)
+                writeString(element.name.rawName)
+                writeFloat3(element.origin().invertXZ())
+            }
+            is BlueprintElement.BlueprintCamera -> {
+                writeByte(2)
+                writeUUID(element.uuid)
+            }
+            is BlueprintElement.NullObject -> {
+                writeByte(3)
+                writeUUID(element.uuid)
+                writeString(element.name.rawName)
+                writeNullable(element.ikTarget) { writeUUID(it) }
+                writeNullable(element.ikSource) { writeUUID(it) }
+                writeFloat3(element.origin().invertXZ())
+            }
+            is BlueprintElement.Cube -> {
+                writeByte(4)
+                writeString(element.name)
+                writeFloat3(element.from)
+                writeFloat3(element.to)
+                writeFloat(element.inflate)
+                writeFloat3(element.rotation)
+                writeFloat3(element.origin)
+                writeNullable(element.faces) { faces ->
+                    listOf(faces.north, faces.east, faces.south, faces.west, faces.up, faces.down).forEach {
+                        writeFloat(it.uv.dx)
+                        writeFloat(it.uv.dz)
+                        writeFloat(it.uv.tx)
+                        writeFloat(it.uv.tz)
+                        writeFloat(it.rotation)
+                        writeNullable(it.texture) { texture -> writeString(texture.toString()) }
+                    }
+                }
+                writeBoolean(element.visibility)
+            }
+        }
+    }
+
+    private fun DataOutputStream.writeMovement(movement: AnimationMovement) {
+        writeFloat(movement.time)
+        writeNullable(movement.position) { writeVector(it) }
+        writeNullable(movement.scale) { writeVector(it) }
+        writeNullable(movement.rotation) { writeVector(it) }
+        writeBoolean(movement.globalRotation)
+        writeBoolean(movement.skipInterpolation)
+    }
+
+    private fun DataOutputStream.writeString(string: String) {
+        val bytes = string.toByteArray()
+        writeInt(bytes.size)
+        write(bytes)
+    }
+
+    private fun DataOutputStream.writeUUID(uuid: UUID) {
+        writeLong(uuid.mostSignificantBits)
+        writeLong(uuid.leastSignificantBits)
+    }
+
+    private fun DataOutputStream.writeFloat3(float3: Float3) {
+        writeFloat(float3.x)
+        writeFloat(float3.y)
+        writeFloat(float3.z)
+    }
+
+    private fun DataOutputStream.writeVector(vector: Vector3f) {
+        writeFloat(vector.x)
+        writeFloat(vector.y)
+        writeFloat(vector.z)
+    }
+
+    private inline fun <T> DataOutputStream.writeNullable(value: T?, block: DataOutputStream.(T) -> Unit) {
+        writeBoolean(value != null)
+        if (value != null) block(value)
+    }
+
+    private inline fun <T> DataOutputStream.writeList(list: List<T>, block: DataOutputStream.(T) -> Unit) {
+        writeInt(list.size)
+        list.forEach { block(it) }
+    }
+
+    //Read
+
+    private fun DataInputStream.readCache(key: String, path: Path, input: PositionInputStream): ModelLoadResult {
+        if (readInt() != MAGIC) throw IOException("Invalid model cache.")
+        val name = readString()
+        val resolution = ModelResolution(readInt(), readInt())
+        val textures = readList {
+            BlueprintTexture(
+                readString(),
+                readInt().let { size ->
+                    source(key, path, input.position, size).also { skipNBytes(size.toLong()) }
+                },
+                readInt(),
+                readInt(),
+                readInt(),
+                readInt()
+            )
+        }
+        val group = readList { readElement() }
+        val animations = readList {
+            val animationName = readString()
+            val loop = AnimationIterator.Type.valueOf(readString())
+            val length = readFloat()
+            val override = readBoolean()
+            val animator = CollectionUtil.associate(readList {
+                BoneTagRegistry.parse(readString()) to BlueprintAnimator(readString(), readList { readMovement() })
+            }, { it.first }, { it.second })
+            val sources = readList {
+                BlueprintScript.Source(readFloat(), readString())
+            }
+            BlueprintAnimation(
+                animationName,
+                loop,
+                length,
+                override,
+                animator,
+                BlueprintScript.fromSources(animationName, loop, length, sources) ?: BlueprintScript.fromEmpty(animationName, loop, length),
+                readList { readMovement() }
+            )
+        }
+        val errors = readList { readString() }
+        return ModelLoadResult(
+            ModelBlueprint(
+                name,
+                resolution,
+                textures,
+                group,
+                CollectionUtil.associate(animations, BlueprintAnimation::name)
+            ),
+            errors
+        )
+    }
+
+    private fun DataInputStream.readElement(): BlueprintElement = when (val type = readByte().toInt()) {
+        0 -> BlueprintElement.Group(
+            readUUID(),
+            BoneTagRegistry.parse(readString()),
+            readFloat3(),
+            readFloat3(),
+            readList { readElement() },
+            readBoolean()
+        )
+        1 -> BlueprintElement.Locator(
+            readUUID(),
+            BoneTagRegistry.parse(readString()),
+            readFloat3()
+        )
+        2 -> BlueprintElement.BlueprintCamera(readUUID())
+        3 -> BlueprintElement.NullObject(
+            readUUID(),
+            BoneTagRegistry.parse(readString()),
+            readNullable { readUUID() },
+            readNullable { readUUID() },
+            readFloat3()
+        )
+        4 -> BlueprintElement.Cube(
+            readString(),
+            readFloat3(),
+            readFloat3(),
+            readFloat(),
+            readFloat3(),
+            readFloat3(),
+            readNullable {
+                ModelFace(readUV(), readUV(), readUV(), readUV(), readUV(), readUV())
+            },
+            readBoolean()
+        )
+        else -> throw IOException("Unknown element type: $type")
+    }
+
+    private fun DataInputStream.readUV() = ModelUV(
+        Float4(readFloat(), readFloat(), readFloat(), readFloat()),
+        readFloat(),
+        readNullable { JsonParser.parseString(readString()) }
+    )
+
+    private fun DataInputStream.readMovement() = AnimationMovement(
+        readFloat(),
+        readNullable { readVector() },
+        readNullable { readVector() },
+        readNullable { readVector() },
+        readBoolean(),
+        readBoolean()
+    )
+
+    private fun DataInputStream.readString(): String = String(ByteArray(readInt()).also { readFully(it) })
+    private fun DataInputStream.readUUID() = UUID(readLong(), readLong())
+    private fun DataInputStream.readFloat3() = Float3(readFloat(), readFloat(), readFloat())
+    private fun DataInputStream.readVector() = Vector3f(readFloat(), readFloat(), readFloat())
+
+    private inline fun <T> DataInputStream.readNullable(block: DataInputStream.() -> T): T? = if (readBoolean()) block() else null
+
+    private inline fun <T> DataInputStream.readList(block: DataInputStream.() -> T): List<T> {
+        val size = readInt()
+        if (size < 0) throw IOException("Invalid list size: $size")
+        return List(size) { block() }
+    }
+
+    private class EntrySource(
+        private val path: Path,
+        private val offset: Long,
+        private val size: Int
+    ) : TextureSource {
+        @Volatile
+        private var image: ByteArray? = null
+
+        override fun load(): ByteArray = image ?: TextureSource.of(path, offset, size).load()
+        override fun size(): Int = size
+
+        fun detach() {
+            if (image == null) image = load()
+        }
+    }
+
+    private class PositionInputStream(input: InputStream) : FilterInputStream(input) {
+        var position = 0L
+            private set
+
+        override fun read(): Int = super.read().also {
+            if (it >= 0) position++
+        }
+
+        override fun read(b: ByteArray, off: Int, len: Int): Int = super.read(b, off, len).also {
+            if (it > 0) position += it
+        }
+
+        override fun skip(n: Long): Long = super.skip(n).also {
+            position += it
+        }
+    }
+}
@@ -11,6 +11,7 @@ import kr.toxicity.model.api.bone.BoneItemMapper
 import kr.toxicity.model.api.bone.BoneTagRegistry
 import kr.toxicity.model.api.bone.BoneTags
 import kr.toxicity.model.api.data.blueprint.BlueprintElement
+import kr.toxicity.model.api.data.blueprint.BlueprintImage
 import kr.toxicity.model.api.data.blueprint.BlueprintJson
 import kr.toxicity.model.api.data.blueprint.ModelBlueprint
 import kr.toxicity.model.api.data.renderer.ModelRenderer
@@ -25,6 +26,7 @@ import org.bukkit.NamespacedKey
 import org.bukkit.inventory.ItemStack
 import java.io.File
 import java.nio.file.Path
+import java.util.*
 import java.util.concurrent.ConcurrentHashMap
 import kotlin.io.path.extension
 import kotlin.io.path.fileSize
@@ -38,9 +40,18 @@ object ModelManagerImpl : ModelManager, GlobalManager {
     private val playerModelView = playerModelMap.toImmutableView()
     private val modelExtensions = setOf("bbmodel", "ajmodel")
 
+    @Volatile
+    var sharedAnimationTracks = 0
+        private set
+    @Volatile
+    var sharedAnimationSize = 0L
+        private set
+
     private fun importModels(
         type: ModelRenderer.Type,
         pipeline: ReloadPipeline,
+        cache: ModelImportCache,
+        interner: AnimationInterner,
         dir: File
     ): List<ImportedModel> {
         val modelFileMap = ConcurrentHashMap<String, Pair<Path, ModelBlueprint>>()
@@ -54,7 +65,7 @@ object ModelManagerImpl : ModelManager, GlobalManager {
             status = "Importing $typeName models..."
             goal = targetFolder.size
         }.forEachParallel(targetFolder, Path::fileSize) {
-            val load = it.toFile().toTexturedModel() ?: return@forEachParallel
+            val load = cache.load(it.toFile()) ?: return@forEachParallel
             modelFileMap.compute(load.name) { _, v ->
                 val index = pipeline.progress()
                 if (v != null) {
@@ -79,32 +90,37 @@ object ModelManagerImpl : ModelManager, GlobalManager {
         return modelFileMap.values
             .asSequence()
             .sortedBy { it.first }
-            .map { ImportedModel(it.first.fileSize(), type,it.second) }
+            .map { ImportedModel(it.first.fileSize(), type, interner.intern(it.second)) }
             .toList()
     }
 
     private fun loadModels(pipeline: ReloadPipeline, zipper: PackZipper) {
-        ModelPipeline(zipper).use {
-            if (CONFIG.module().model) it.addModelTo(
-                generalModelMap,
-                importModels(ModelRenderer.Type.GENERAL, pipeline, DATA_FOLDER.getOrCreateDirectory("models") { folder ->
-                    File(DATA_FOLDER.parent, "ModelEngine/blueprints")
-                        .takeIf(File::isDirectory)
-                        ?.run {
-                            copyRecursively(folder, overwrite = true)
-                            info("ModelEngine's models are successfully migrated.".toComponent(GREEN))
-                        } ?: run {
-                        if (PLUGIN.version().useModernResource()) folder.addResource("demon_knight.bbmodel")
-                    }
-                })
-            )
-            if (CONFIG.module().playerAnimation) it.addModelTo(
-                playerModelMap,
-                importModels(ModelRenderer.Type.PLAYER, pipeline, DATA_FOLDER.getOrCreateDirectory("players") { folder ->
-                    folder.addResource("steve.bbmodel")
-                })
-            )
+        val interner = AnimationInterner()
+        ModelImportCache().use { cache ->
+            ModelPipeline(zipper, pipeline).use {
+                if (CONFIG.module().model) it.addModelTo(
+                    generalModelMap,
+                    importModels(ModelRenderer.Type.GENERAL, pipeline, cache, interner, DATA_FOLDER.getOrCreateDirectory("models") { folder ->
+                        File(DATA_FOLDER.parent, "ModelEngine/blueprints")
+                            .takeIf(File::isDirectory)
+                            ?.run {
+                                copyRecursively(folder, overwrite = true)
+                                info("ModelEngine's models are successfully migrated.".toComponent(GREEN))
+                            } ?: run {
+                            if (PLUGIN.version().useModernResource()) folder.addResource("demon_knight.bbmodel")
+                        }
+                    })
+                )
+                if (CONFIG.module().playerAnimation) it.addModelTo(
+                    playerModelMap,
+                    importModels(ModelRenderer.Type.PLAYER, pipeline, cache, interner, DATA_FOLDER.getOrCreateDirectory("players") { folder ->
+                        folder.addResource("steve.bbmodel")
+                    })
+                )
+            }
         }
+        sharedAnimationTracks = interner.sharedTracks
+        sharedAnimationSize = interner.savedSize
     }
 
     private data class ImportedModel(
@@ -113,12 +129,13 @@ object ModelManagerImpl : ModelManager, GlobalManager {
         val blueprint: ModelBlueprint
     ) {
         val jsonSize = size - blueprint.textures.sumOf {
-            it.image.size
+            it.source.size()
         }
     }
 
     private class ModelPipeline(
-        private val zipper: PackZipper
+        private val zipper: PackZipper,
+        private val pipeline: ReloadPipeline
     ) : AutoCloseable {
 
         private var indexer = 1
@@ -128,10 +145,10 @@ object ModelManagerImpl : ModelManager, GlobalManager {
         private val legacyModel = ModelBuilder(
             pack = zipper.legacy().bettermodel().models().resolve("item"),
             available = CONFIG.pack().generateLegacyModel,
-            onBuild = { blueprints, size ->
+            onBuild = { blueprints, index, size ->
                 val blueprint = blueprints.first()
                 entries += jsonObjectOf(
-                    "predicate" to jsonObjectOf("custom_model_data" to indexer),
+                    "predicate" to jsonObjectOf("custom_model_data" to index),
                     "model" to "${CONFIG.namespace()}:item/${blueprint.name}"
                 )
                 pack.add("${blueprint.name}.json", size) {
@@ -154,9 +171,9 @@ object ModelManagerImpl : ModelManager, GlobalManager {
         private val modernModel = ModelBuilder(
             pack = zipper.modern().bettermodel().models().resolve("modern_item"),
             available = CONFIG.pack().generateModernModel,
-            onBuild = { blueprints, size ->
+            onBuild = { blueprints, index, size ->
                 entries += jsonObjectOf(
-                    "threshold" to indexer,
+                    "threshold" to index,
                     "model" to blueprints.toModernJson()
                 )
                 blueprints.forEach { json ->
@@ -191,33 +208,85 @@ object ModelManagerImpl : ModelManager, GlobalManager {
             model: List<ImportedModel>
         ) {
             if (model.isEmpty()) return
-            model.forEach { importedModel ->
-                val size = importedModel.jsonSize
-                val load = importedModel.blueprint
-                val hasTexture = load.hasTexture()
-                targetMap[load.name] = load.toRenderer(importedModel.type) render@ { group ->
-                    if (!hasTexture) return@render null
-                    var success = false
-                    //Modern
-                    modernModel.ifAvailable {
-                        group.buildModernJson(textures.obfuscator().withModels(pack.obfuscator()), load)
-                    }?.let {
-                        modernModel.build(it, size)
-                        success = true
-                    }
-                    //Legacy
-                    legacyModel.ifAvailable {
-                        group.buildLegacyJson(
+            val bakes = model.map { BakedModel(it) }
+            pipeline.apply {
+                status = "Baking models..."
+                goal = bakes.size
+            }.forEachParallel(bakes, BakedModel::size) {
+                it.bake()
+                pipeline.progress()
+            }
+            bakes.forEach {
+                it.commit(targetMap)
+            }
+        }
+
+        private class ReservedGroup(
+            val group: BlueprintElement.Group,
+            val index: Int
+        ) {
+            var modern: List<BlueprintJson>? = null
+            var legacy: BlueprintJson? = null
+        }
+
+        private inner class BakedModel(importedModel: ImportedModel) {
+            val size = importedModel.jsonSize
+            private val type = importedModel.type
+            private val load = importedModel.blueprint
+            private val reserved = arrayListOf<ReservedGroup>()
+            private val indexes = IdentityHashMap<BlueprintElement.Group, Int>()
+            private val images: List<BlueprintImage>
+            private lateinit var renderer: ModelRenderer
+
+            init {
+                images = if (load.hasTexture()) {
+                    load.group.filterIsInstance<BlueprintElement.Bone>().forEach { it.reserve() }
+                    load.buildImage(textures.obfuscator()).toList()
+                } else emptyList()
+            }
+
+            private fun BlueprintElement.Bone.reserve() {
+                if (this !is BlueprintElement.Group) return
+                val group = this
+                if (name.toItemMapper() === BoneItemMapper.EMPTY) {
+                    val modern = modernModel.ifAvailable {
+                        group.reserveModernJson(textures.obfuscator().withModels(pack.obfuscator()), load)
+                    } == true
+                    val legacy = legacyModel.ifAvailable {
+                        group.reserveLegacyJson(
                             PLUGIN.version().useModernResource(),
                             textures.obfuscator().withModels(pack.obfuscator()),
                             load
                         )
-                    }?.let {
-                        legacyModel.build(listOf(it), size)
-                        success = true
+                    } == true
+                    if (modern || legacy) ReservedGroup(group, indexer++).let {
+                        reserved += it
+                        indexes[group] = it.index
+                    }
+                }
+                children.filterIsInstance<BlueprintElement.Bone>().forEach { it.reserve() }
+            }
+
+            fun bake() {
+                reserved.forEach { target ->
+                    //Modern
+                    target.modern = modernModel.ifAvailable {
+                        target.group.buildModernJson(textures.obfuscator().withModels(pack.obfuscator()), load)
+                    }
+                    //Legacy
+                    target.legacy = legacyModel.ifAvailable {
+                        target.group.buildLegacyJson(true, textures.obfuscator().withModels(pack.obfuscator()), load)
                     }
-                    if (success) indexer++ else null
-                }.apply {
+                }
+                renderer = load.toRenderer(type) { group -> indexes[group] }
+            }
+
+            fun commit(targetMap: MutableMap<String, ModelRenderer>) {
+                reserved.forEach { target ->
+                    target.modern?.let { modernModel.build(it, target.index, size) }
+                    target.legacy?.let { legacyModel.build(listOf(it), target.index, size) }
+                }
+                targetMap[load.name] = renderer.apply {
                     debugPack {
                         componentOf(
                             "This model was successfully imported: ".toComponent(),
@@ -226,7 +295,7 @@ object ModelManagerImpl : ModelManager, GlobalManager {
                     }
                     ModelImportedEvent(load, this).call()
                 }
-                if (hasTexture) load.buildImage(textures.obfuscator()).forEach { image ->
+                images.forEach { image ->
                     textures.add("${image.name}.png", image.estimatedSize()) {
                         image.toByteArray()
                     }
@@ -243,7 +312,7 @@ object ModelManagerImpl : ModelManager, GlobalManager {
         data class ModelBuilder(
             val pack: PackBuilder,
             private val available: Boolean,
-            private val onBuild: ModelBuilder.(List<BlueprintJson>, Long) -> Unit,
+            private val onBuild: ModelBuilder.(List<BlueprintJson>, Int, Long) -> Unit,
             private val onClose: ModelBuilder.() -> Unit
         ) : AutoCloseable {
             val entries = jsonArrayOf()
@@ -252,8 +321,8 @@ object ModelManagerImpl : ModelManager, GlobalManager {
                 return if (available) block() else null
             }
 
-            fun build(list: List<BlueprintJson>, size: Long) {
-                onBuild(list, size)
+            fun build(list: List<BlueprintJson>, index: Int, size: Long) {
+                onBuild(list, index, size)
             }
 
             override fun close() {
@@ -303,7 +372,8 @@ object ModelManagerImpl : ModelManager, GlobalManager {
                 name,
                 type,
                 group.filterIsInstance<BlueprintElement.Bone>()
-                    .associate { it.name() to it.parse() },
+                    .associate { it.name() to it.parse() }
+                    .onEach { it.value.template() },
                 animations
             )
         }
@@ -32,6 +32,10 @@ class ReloadPipeline(
         pool.forEachParallel(list, sizeAssume, block)
     }
 
+    fun <T, R> forEachOrdered(list: List<T>, block: (T) -> R, consumer: (T, R) -> Unit) {
+        pool.forEachOrdered(list, block, consumer)
+    }
+
     fun <T, R> mapParallel(list: List<T>, sizeAssume: (T) -> Long, block: (T) -> R?): List<R> {
         return CopyOnWriteArrayList<R>().apply {
             forEachParallel(list, sizeAssume) { t: T ->
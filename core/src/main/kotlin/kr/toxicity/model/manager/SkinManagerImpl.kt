@@ -33,20 +33,27 @@ import kr.toxicity.model.api.version.MinecraftVersion
 import kr.toxicity.model.authlib.V6AuthLibAdapter
 import kr.toxicity.model.authlib.V7AuthLibAdapter
 import kr.toxicity.model.player.HttpPlayerSkinProvider
+import kr.toxicity.model.player.SkinFetcher
+import kr.toxicity.model.player.SkinStore
 import kr.toxicity.model.util.*
 import org.bukkit.Bukkit
 import org.joml.Vector3f
 import java.awt.image.BufferedImage
-import java.net.URI
-import java.net.http.HttpResponse
+import java.io.File
 import java.util.*
 import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
 import javax.imageio.ImageIO
 
 object SkinManagerImpl : SkinManager, GlobalManager {
 
     private const val DIV_FACTOR = 16F / 0.9375F
+    private const val SKIN_STORE_CAPACITY = 4096
+    private const val LIMB_ITEM_CACHE_SIZE = 64
+    private const val SKIN_FETCH_CONCURRENCY = 8
+    private const val SKIN_DECODE_THREADS = 2
 
     private var uvNamespace = UVNamespace(
         CONFIG.namespace(),
@@ -672,6 +679,17 @@ object SkinManagerImpl : SkinManager, GlobalManager {
         }
         .build<UUID, SkinDataImpl>()
 
+    private val skinStore by lazy {
+        SkinStore(File(DATA_FOLDER.getOrCreateDirectory(".cache"), "skins"), SKIN_STORE_CAPACITY)
+    }
+
+    private val skinFetcher by lazy {
+        SkinFetcher(skinStore, SKIN_FETCH_CONCURRENCY, SKIN_DECODE_THREADS)
+    }
+
+    private val pendingRefresh = ConcurrentHashMap.newKeySet<UUID>()
+    private val refreshScheduled = AtomicBoolean()
+
     private val fallback by lazy {
         PLUGIN.getResource("fallback_skin.png")!!.use {
             SkinDataImpl(false, ImageIO.read(it), null)
@@ -719,9 +737,7 @@ object SkinManagerImpl : SkinManager, GlobalManager {
 
     private data class SkinUrl(
         val url: String
-    ) {
-        fun toURI(): URI = URI.create(url)
-    }
+    )
 
     override fun getOrRequest(profile: SkinProfile): SkinData {
         return profileCache.get(profile.id) { id ->
@@ -730,39 +746,26 @@ object SkinManagerImpl : SkinManager, GlobalManager {
                     call()
                     skinProfile
                 }
-            }.thenComposeAsync compose@ { selected ->
+            }.thenCompose compose@ { selected ->
                 val textures = selected.textures.firstOrNull()?.value ?: return@compose CompletableFuture.completedFuture(null)
-                httpClient {
+                runCatching {
                     gson.fromJson(
                         String(Base64.getDecoder().decode(textures)),
                         Skin::class.java
-                    ).textures.run {
-                        fun SkinUrl.toFuture() = sendAsync(
-                            buildHttpRequest {
-                                uri(toURI())
-                                GET()
-                            },
-                            HttpResponse.BodyHandlers.ofInputStream()
-                        ).thenComposeAsync { request ->
-                            CompletableFuture.supplyAsync { request.body().use { ImageIO.read(it) } }
-                        }
-                        skin.toFuture().thenCombine(cape?.toFuture() ?: CompletableFuture.completedFuture(null)) { skin, cape ->
-                            profileCache.put(id, SkinDataImpl(
-                                isSlim(selected),
-                                skin.convertLegacy(),
-                                cape,
-                                selected
-                            ))
-                            BetterModel.registryOrNull(id)?.trackers()?.forEach { tracker ->
-                                tracker.update(TrackerUpdateAction.itemMapping()) { bone ->
-                                    bone.itemMapper is PlayerLimb.LimbItemMapper
-                                }
-                            }
-                        }
-                    }
-                }.orElse {
+                    ).textures
+                }.getOrElse {
                     it.handleException("Unable to read this profile: ${selected.name}")
-                    CompletableFuture.failedFuture(it)
+                    return@compose CompletableFuture.failedFuture(it)
+                }.run {
+                    skinFetcher.fetch(skin.url) { it.convertLegacy() }.thenCombine(cape?.let { skinFetcher.fetch(it.url) } ?: CompletableFuture.completedFuture(null)) { skin, cape ->
+                        profileCache.put(id, SkinDataImpl(
+                            isSlim(selected),
+                            skin,
+                            cape,
+                            selected
+                        ))
+                        requestRefresh(id)
+                    }
                 }
             }.exceptionally {
                 it.handleException("unable to read this skin: ${profile.name}")
@@ -773,6 +776,23 @@ object SkinManagerImpl : SkinManager, GlobalManager {
         }
     }
 
+    private fun requestRefresh(id: UUID) {
+        pendingRefresh += id
+        if (refreshScheduled.compareAndSet(false, true)) PLUGIN.scheduler().asyncTaskLater(1) {
+            refreshScheduled.set(false)
+            val iterator = pendingRefresh.iterator()
+            while (iterator.hasNext()) {
+                val next = iterator.next()
+                iterator.remove()
+                BetterModel.registryOrNull(next)?.trackers()?.forEach { tracker ->
+                    tracker.update(TrackerUpdateAction.itemMapping()) { bone ->
+                        bone.itemMapper is PlayerLimb.LimbItemMapper
+                    }
+                }
+            }
+        }
+    }
+
     override fun removeCache(profile: SkinProfile) = profileCache.invalidate(profile.id)
 
     override fun setSkinProvider(provider: PlayerSkinProvider) {
@@ -806,6 +826,11 @@ object SkinManagerImpl : SkinManager, GlobalManager {
         drawTo(UVPos(40, 16), UVPos(32, 48))
     }
 
+    private data class LimbItemKey(
+        val resource: ArmorResource,
+        val item: ArmorItem?
+    )
+
     private class SkinDataImpl(
         private val isSlim: Boolean,
         private val skinImage: BufferedImage,
@@ -827,16 +852,27 @@ object SkinManagerImpl : SkinManager, GlobalManager {
         private val rightForeArm = (if (isSlim) SLIM_RIGHT_FOREARM else RIGHT_FOREARM).asModelData(skinImage).asItem()
         private val cape = capeImage?.let { CAPE.asModelData(it).asItem() }
 
-        override fun head(profiled: Profiled): TransformedItemStack = head.asItem(ArmorResource.HELMET, profiled.armors().helmet())
-        override fun hip(profiled: Profiled): TransformedItemStack = hip.asItem(ArmorResource.HIP, profiled.armors().leggings())
-        override fun waist(profiled: Profiled): TransformedItemStack = waist.asItem(ArmorResource.WAIST, profiled.armors().chestplate())
-        override fun chest(profiled: Profiled): TransformedItemStack = chest.asItem(ArmorResource.CHEST, profiled.armors().chestplate())
-        override fun leftArm(profiled: Profiled): TransformedItemStack = leftArm.asItem(ArmorResource.LEFT_ARM, profiled.armors().chestplate())
-        override fun rightArm(profiled: Profiled): TransformedItemStack = rightArm.asItem(ArmorResource.RIGHT_ARM, profiled.armors().chestplate())
-        override fun leftLeg(profiled: Profiled): TransformedItemStack = leftLeg.asItem(ArmorResource.LEFT_LEG, profiled.armors().leggings())
-        override fun rightLeg(profiled: Profiled): TransformedItemStack = rightLeg.asItem(ArmorResource.RIGHT_LEG, profiled.armors().leggings())
-        override fun leftForeLeg(profiled: Profiled): TransformedItemStack = leftForeLeg.asItem(ArmorResource.LEFT_FORELEG, profiled.armors().boots())
-        override fun rightForeLeg(profiled: Profiled): TransformedItemStack = rightForeLeg.asItem(ArmorResource.RIGHT_FORELEG, profiled.armors().boots())
+        private val itemCache = ConcurrentHashMap<LimbItemKey, TransformedItemStack>()
+
+        private fun SkinModelData.cachedItem(resource: ArmorResource, item: ArmorItem?): TransformedItemStack {
+            val key = LimbItemKey(resource, item)
+            itemCache[key]?.let { return it }
+            if (itemCache.size >= LIMB_ITEM_CACHE_SIZE) itemCache.clear()
+            return itemCache.computeIfAbsent(key) {
+                asItem(resource, item)
+            }
+        }
+
+        override fun head(profiled: Profiled): TransformedItemStack = head.cachedItem(ArmorResource.HELMET, profiled.armors().helmet())
+        override fun hip(profiled: Profiled): TransformedItemStack = hip.cachedItem(ArmorResource.HIP, profiled.armors().leggings())
+        override fun waist(profiled: Profiled): TransformedItemStack = waist.cachedItem(ArmorResource.WAIST, profiled.armors().chestplate())
+        override fun chest(profiled: Profiled): TransformedItemStack = chest.cachedItem(ArmorResource.CHEST, profiled.armors().chestplate())
+        override fun leftArm(profiled: Profiled): TransformedItemStack = leftArm.cachedItem(ArmorResource.LEFT_ARM, profiled.armors().chestplate())
+        override fun rightArm(profiled: Profiled): TransformedItemStack = rightArm.cachedItem(ArmorResource.RIGHT_ARM, profiled.armors().chestplate())
+        override fun leftLeg(profiled: Profiled): TransformedItemStack = leftLeg.cachedItem(ArmorResource.LEFT_LEG, profiled.armors().leggings())
+        override fun rightLeg(profiled: Profiled): TransformedItemStack = rightLeg.cachedItem(ArmorResource.RIGHT_LEG, profiled.armors().leggings())
+        override fun leftForeLeg(profiled: Profiled): TransformedItemStack = leftForeLeg.cachedItem(ArmorResource.LEFT_FORELEG, profiled.armors().boots())
+        override fun rightForeLeg(profiled: Profiled): TransformedItemStack = rightForeLeg.cachedItem(ArmorResource.RIGHT_FORELEG, profiled.armors().boots())
         override fun leftForeArm(): TransformedItemStack = leftForeArm
         override fun rightForeArm(): TransformedItemStack = rightForeArm
         override fun cape(profiled: Profiled): TransformedItemStack? = if (profiled.armors().chestplate() != null) cape?.offset(Vector3f(0F, 0F, -1F / 16F)) else cape
@@ -0,0 +1,112 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.player
+
+import kr.toxicity.model.util.buildHttpRequest
+import kr.toxicity.model.util.handleException
+import kr.toxicity.model.util.httpClient
+import java.awt.image.BufferedImage
+import java.io.IOException
+import java.net.URI
+import java.net.http.HttpResponse
+import java.util.concurrent.*
+import java.util.concurrent.atomic.AtomicInteger
+import javax.imageio.ImageIO
+
+/**
+ * Skin image fetcher with bounded concurrency.
+ *
+ * Requests of the same texture are coalesced into one in-flight future, at most [maxDownloads] downloads run at once,
+ * and decoding runs on its own bounded executor instead of the common pool.
+ */
+class SkinFetcher(
+    private val store: SkinStore,
+    maxDownloads: Int,
+    decodeThreads: Int
+) {
+
+    private val inFlight = ConcurrentHashMap<String, CompletableFuture<BufferedImage>>()
+    private val waiting = ConcurrentLinkedQueue<() -> CompletableFuture<*>>()
+    private val permits = Semaphore(maxDownloads)
+    private val integer = AtomicInteger()
+    private val executor = ThreadPoolExecutor(
+        decodeThreads,
+        decodeThreads,
+        30,
+        TimeUnit.SECONDS,
+        LinkedBlockingQueue()
+    ) {
+        Thread(it).apply {
+            isDaemon = true
+            name = "BetterModel-Skin-Worker-${integer.andIncrement}"
+            uncaughtExceptionHandler = Thread.UncaughtExceptionHandler { thread, exception ->
+                exception.handleException("A error has been occurred in ${thread.name}")
+            }
+        }
+    }.apply {
+        allowCoreThreadTimeOut(true)
+    }
+
+    fun fetch(url: String, convert: (BufferedImage) -> BufferedImage = { it }): CompletableFuture<BufferedImage> {
+        val key = store.key(url)
+        inFlight[key]?.let { return it }
+        val future = CompletableFuture<BufferedImage>()
+        inFlight.putIfAbsent(key, future)?.let { return it }
+        future.whenComplete { _, _ ->
+            inFlight.remove(key, future)
+        }
+        CompletableFuture.supplyAsync({
+            store.read(key)
+        }, executor).thenAccept { stored ->
+            if (stored != null) future.complete(stored) else enqueue {
+                download(key, url, convert).whenComplete { image, throwable ->
+                    if (throwable != null) future.completeExceptionally(throwable) else future.complete(image)
+                }
+            }
+        }.exceptionally {
+            future.completeExceptionally(it)
+            null
+        }
+        return future
+    }
+
+    private fun download(key: String, url: String, convert: (BufferedImage) -> BufferedImage): CompletableFuture<BufferedImage> = httpClient {
+        sendAsync(
+            buildHttpRequest {
+                uri(URI.create(url))
+                GET()
+            },
+            HttpResponse.BodyHandlers.ofInputStream()
+        ).thenApplyAsync({ response ->
+            val image = response.body().use { ImageIO.read(it) } ?: throw IOException("Unable to decode this skin: $url")
+            convert(image).also {
+                store.write(key, it)
+            }
+        }, executor)
+    }.orElse {
+        CompletableFuture.failedFuture(it)
+    }
+
+    private fun enqueue(task: () -> CompletableFuture<*>) {
+        waiting += task
+        drain()
+    }
+
+    private fun drain() {
+        while (waiting.isNotEmpty() && permits.tryAcquire()) {
+            val task = waiting.poll()
+            if (task == null) {
+                permits.release()
+                continue
+            }
+            task().whenComplete { _, _ ->
+                permits.release()
+                drain()
+            }
+        }
+    }
+}
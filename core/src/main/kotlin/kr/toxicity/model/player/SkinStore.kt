@@ -0,0 +1,103 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.player
+
+import kr.toxicity.model.util.handleFailure
+import java.awt.image.BufferedImage
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+import java.util.*
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+
+/**
+ * Size-bounded disk store of decoded skin images, keyed by texture hash.
+ *
+ * Images are stored as already-converted ARGB pixels, so a stored skin is used without decoding PNG again.
+ * When the store exceeds its capacity, least recently used entries are evicted.
+ */
+class SkinStore(
+    private val folder: File,
+    private val capacity: Int
+) {
+
+    private companion object {
+        const val MAGIC = 0x424D534B // BMSK
+        const val MAX_SIZE = 1024
+        val TEXTURE_HASH = Regex("[0-9a-f]{16,128}")
+    }
+
+    private val size by lazy {
+        AtomicInteger(entries().size)
+    }
+
+    fun key(url: String): String = url.substringAfterLast('/').takeIf(TEXTURE_HASH::matches)
+        ?: HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(url.toByteArray()))
+
+    fun read(key: String): BufferedImage? {
+        val file = File(folder, "$key.bin")
+        if (!file.isFile) return null
+        return runCatching {
+            DataInputStream(GZIPInputStream(file.inputStream()).buffered()).use {
+                if (it.readInt() != MAGIC) throw IOException("Invalid skin store entry.")
+                val width = it.readInt()
+                val height = it.readInt()
+                if (width !in 1..MAX_SIZE || height !in 1..MAX_SIZE) throw IOException("Invalid skin size: ${width}x$height")
+                val pixels = IntArray(width * height) { _ -> it.readInt() }
+                BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB).apply {
+                    setRGB(0, 0, width, height, pixels, 0, width)
+                }
+            }.also {
+                file.setLastModified(System.currentTimeMillis())
+            }
+        }.onFailure {
+            if (file.delete()) size.decrementAndGet()
+        }.getOrNull()
+    }
+
+    fun write(key: String, image: BufferedImage) {
+        runCatching {
+            folder.mkdirs()
+            val file = File(folder, "$key.bin")
+            val exists = file.exists()
+            val temp = Files.createTempFile(folder.toPath(), key, ".tmp")
+            DataOutputStream(GZIPOutputStream(Files.newOutputStream(temp)).buffered()).use {
+                it.writeInt(MAGIC)
+                it.writeInt(image.width)
+                it.writeInt(image.height)
+                image.getRGB(0, 0, image.width, image.height, null, 0, image.width).forEach { pixel ->
+                    it.writeInt(pixel)
+                }
+            }
+            Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+            if (!exists && size.incrementAndGet() > capacity) evict()
+        }.handleFailure {
+            "Unable to store this skin: $key"
+        }
+    }
+
+    private fun entries() = folder.listFiles { file ->
+        file.name.endsWith(".bin")
+    }?.toList() ?: emptyList()
+
+    @Synchronized
+    private fun evict() {
+        val entries = entries()
+        val target = capacity * 9 / 10
+        if (entries.size <= target) return
+        entries.sortedBy(File::lastModified)
+            .take(entries.size - target)
+            .forEach(File::delete)
+        size.set(entries().size)
+    }
+}
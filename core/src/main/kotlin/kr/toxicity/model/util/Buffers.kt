@@ -16,7 +16,7 @@ import java.nio.charset.StandardCharsets
 private val IO_BUFFER = ThreadLocal.withInitial { ByteArrayOutputStream(1024) }
 
 fun BlueprintImage.toByteArray(): ByteArray {
-    return image
+    return image()
 }
 
 fun JsonElement.toByteArray(): ByteArray {
@@ -77,4 +77,19 @@ class ParallelIOThreadPool : AutoCloseable {
             }.toTypedArray()
         ).join()
     }
+
+    fun <T, R> forEachOrdered(list: List<T>, block: (T) -> R, consumer: (T, R) -> Unit) {
+        val window = ArrayDeque<Pair<T, CompletableFuture<R>>>(available)
+        val iterator = list.iterator()
+        while (iterator.hasNext() || window.isNotEmpty()) {
+            while (iterator.hasNext() && window.size < available) {
+                val next = iterator.next()
+                window.addLast(next to CompletableFuture.supplyAsync({
+                    block(next)
+                }, pool))
+            }
+            val (t, future) = window.removeFirst()
+            consumer(t, future.join())
+        }
+    }
 }
\ No newline at end of file
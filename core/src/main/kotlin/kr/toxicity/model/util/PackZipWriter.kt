@@ -0,0 +1,190 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.util
+
+import java.io.ByteArrayOutputStream
+import java.io.OutputStream
+import java.security.MessageDigest
+import java.util.zip.CRC32
+import java.util.zip.Deflater
+
+/**
+ * Zip writer which accepts entries already compressed on other threads.
+ *
+ * Entries are written with a fixed timestamp, so the same input always produces the same bytes.
+ * ZIP64 records are written only when the entry count or an offset does not fit in the classic format.
+ */
+class PackZipWriter(
+    private val output: OutputStream,
+    private val comment: String
+) : AutoCloseable {
+
+    private companion object {
+        const val LOCAL_HEADER = 0x04034b50
+        const val CENTRAL_HEADER = 0x02014b50
+        const val END_HEADER = 0x06054b50
+        const val ZIP64_END_HEADER = 0x06064b50
+        const val ZIP64_LOCATOR = 0x07064b50
+        const val ZIP64_EXTRA = 0x0001
+        const val ZIP64_END_SIZE = 44L
+        const val VERSION = 20
+        const val ZIP64_VERSION = 45
+        const val UTF8_FLAG = 0x0800
+        const val STORED = 0
+        const val DEFLATED = 8
+        const val DOS_TIME = 0
+        const val DOS_DATE = (1 shl 5) or 1 //1980-01-01
+        const val MAX_ENTRIES = 0xFFFF
+        const val MAX_OFFSET = 0xFFFFFFFFL
+    }
+
+    class Entry(
+        val name: ByteArray,
+        val method: Int,
+        val crc: Long,
+        val size: Long,
+        val data: ByteArray
+    ) {
+        companion object {
+            fun digest(path: String, bytes: ByteArray): ByteArray = MessageDigest.getInstance("SHA-256").run {
+                update(path.toByteArray())
+                digest(bytes)
+            }
+
+            fun compress(path: String, bytes: ByteArray): Entry {
+                val crc = CRC32().apply { update(bytes) }.value
+                val deflater = Deflater(Deflater.BEST_COMPRESSION, true)
+                val compressed = try {
+                    deflater.setInput(bytes)
+                    deflater.finish()
+                    ByteArrayOutputStream(bytes.size / 2 + 64).apply {
+                        val buffer = ByteArray(8192)
+                        while (!deflater.finished()) write(buffer, 0, deflater.deflate(buffer))
+                    }.toByteArray()
+                } finally {
+                    deflater.end()
+                }
+                return if (compressed.size < bytes.size) {
+                    Entry(path.toByteArray(), DEFLATED, crc, bytes.size.toLong(), compressed)
+                } else {
+                    Entry(path.toByteArray(), STORED, crc, bytes.size.toLong(), bytes)
+                }
+            }
+        }
+    }
+
+    private class Written(
+        val name: ByteArray,
+        val method: Int,
+        val crc: Long,
+        val compressedSize: Int,
+        val size: Long,
+        val offset: Long
+    )
+
+    private val written = arrayListOf<Written>()
+    private var offset = 0L
+
+    fun write(entry: Entry) {
+        written += Written(entry.name, entry.method, entry.crc, entry.data.size, entry.size, offset)
+        writeInt(LOCAL_HEADER)
+        writeShort(VERSION)
+        writeShort(UTF8_FLAG)
+        writeShort(entry.method)
+        writeShort(DOS_TIME)
+        writeShort(DOS_DATE)
+        writeInt(entry.crc.toInt())
+        writeInt(entry.data.size)
+        writeInt(entry.size.toInt())
+        writeShort(entry.name.size)
+        writeShort(0)
+        writeBytes(entry.name)
+        writeBytes(entry.data)
+    }
+
+    override fun close() {
+        output.use {
+            val start = offset
+            written.forEach {
+                val zip64 = it.offset > MAX_OFFSET
+                writeInt(CENTRAL_HEADER)
+                writeShort(if (zip64) ZIP64_VERSION else VERSION)
+                writeShort(if (zip64) ZIP64_VERSION else VERSION)
+                writeShort(UTF8_FLAG)
+                writeShort(it.method)
+                writeShort(DOS_TIME)
+                writeShort(DOS_DATE)
+                writeInt(it.crc.toInt())
+                writeInt(it.compressedSize)
+                writeInt(it.size.toInt())
+                writeShort(it.name.size)
+                writeShort(if (zip64) 12 else 0)
+                writeShort(0)
+                writeShort(0)
+                writeShort(0)
+                writeInt(0)
+                writeInt(if (zip64) MAX_OFFSET.toInt() else it.offset.toInt())
+                writeBytes(it.name)
+                if (zip64) {
+                    writeShort(ZIP64_EXTRA)
+                    writeShort(8)
+                    writeLong(it.offset)
+                }
+            }
+            val size = offset - start
+            val zip64 = written.size >= MAX_ENTRIES || start > MAX_OFFSET || size > MAX_OFFSET
+            if (zip64) {
+                val end = offset
+                writeInt(ZIP64_END_HEADER)
+                writeLong(ZIP64_END_SIZE)
+                writeShort(ZIP64_VERSION)
+                writeShort(ZIP64_VERSION)
+                writeInt(0)
+                writeInt(0)
+                writeLong(written.size.toLong())
+                writeLong(written.size.toLong())
+                writeLong(size)
+                writeLong(start)
+                writeInt(ZIP64_LOCATOR)
+                writeInt(0)
+                writeLong(end)
+                writeInt(1)
+            }
+            val commentBytes = comment.toByteArray()
+            writeInt(END_HEADER)
+            writeShort(0)
+            writeShort(0)
+            writeShort(if (zip64) MAX_ENTRIES else written.size)
+            writeShort(if (zip64) MAX_ENTRIES else written.size)
+            writeInt(if (zip64) MAX_OFFSET.toInt() else size.toInt())
+            writeInt(if (zip64) MAX_OFFSET.toInt() else start.toInt())
+            writeShort(commentBytes.size)
+            writeBytes(commentBytes)
+        }
+    }
+
+    private fun writeShort(value: Int) {
+        output.write(value and 0xFF)
+        output.write((value ushr 8) and 0xFF)
+        offset += 2
+    }
+
+    private fun writeInt(value: Int) {
+        writeShort(value and 0xFFFF)
+        writeShort((value ushr 16) and 0xFFFF)
+    }
+
+    private fun writeLong(value: Long) {
+        writeInt(value.toInt())
+        writeInt((value ushr 32).toInt())
+    }
+
+    private fun writeBytes(bytes: ByteArray) {
+        output.write(bytes)
+        offset += bytes.size
+    }
+}
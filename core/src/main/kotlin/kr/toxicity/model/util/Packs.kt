@@ -14,10 +14,10 @@ import net.kyori.adventure.text.format.NamedTextColor
 import java.io.File
 import java.nio.file.Files
 import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+import java.util.*
 import java.util.concurrent.atomic.AtomicBoolean
-import java.util.zip.Deflater
-import java.util.zip.ZipEntry
-import java.util.zip.ZipOutputStream
 import kotlin.io.path.pathString
 
 fun BetterModelConfig.PackType.toGenerator() = when (this) {
@@ -29,15 +29,6 @@ fun BetterModelConfig.PackType.toGenerator() = when (this) {
 interface PackGenerator {
     val exists: Boolean
     fun create(zipper: PackZipper, pipeline: ReloadPipeline): PackResult
-    fun hashEquals(result: PackResult): Boolean {
-        val hash = result.hash().toString()
-        return File(DATA_FOLDER.getOrCreateDirectory(".cache"), "zip-hash.txt").run {
-            if (!exists || !exists() || readText() != hash) {
-                writeText(hash)
-                true
-            } else false
-        }
-    }
 }
 
 class FolderGenerator : PackGenerator {
@@ -97,27 +88,57 @@ class FolderGenerator : PackGenerator {
 
 class ZipGenerator : PackGenerator {
     private val file = File(DATA_FOLDER.parent, "${CONFIG.buildFolderLocation()}.zip")
+    private val hashFile = File(DATA_FOLDER.getOrCreateDirectory(".cache"), "zip-hash.txt")
     override val exists: Boolean = file.exists()
 
     override fun create(zipper: PackZipper, pipeline: ReloadPipeline): PackResult {
-        return zipper.writeToResult(pipeline, file).apply {
-            freeze(hashEquals(this))
-        }.apply {
-            if (!changed()) return this
-            fun zip(zip: ZipOutputStream) {
-                zip.setLevel(Deflater.BEST_COMPRESSION)
-                zip.setComment("BetterModel's generated resource pack.")
-                stream().forEach {
-                    zip.putNextEntry(ZipEntry(it.path().path()))
-                    zip.write(it.bytes())
-                    zip.closeEntry()
-                }
-            }
-            file.outputStream().use {
-                it.buffered().use { buffered ->
-                    ZipOutputStream(buffered).use(::zip)
+        val build = zipper.build()
+        val resources = build.resources().sortedBy(PackResource::path)
+        val result = PackResult(build.meta(), file)
+        val sha = MessageDigest.getInstance("SHA-256")
+        pipeline.forEachOrdered(resources, {
+            PackZipWriter.Entry.digest(it.path().path, it.get())
+        }) { _, digest ->
+            sha.update(digest)
+            pipeline.progress()
+        }
+        val hash = UUID.nameUUIDFromBytes(sha.digest())
+        result.streamed(resources.size, hash)
+        val changed = !exists || !file.exists() || !hashFile.exists() || hashFile.readText() != hash.toString()
+        if (changed) {
+            write(resources, pipeline.apply {
+                status = "Zipping files..."
+                goal = resources.size
+            })
+            hashFile.writeText(hash.toString())
+        }
+        return result.apply {
+            freeze(changed)
+        }
+    }
+
+    private fun write(resources: List<PackResource>, pipeline: ReloadPipeline) {
+        file.parentFile.mkdirs()
+        val temp = Files.createTempFile(file.parentFile.toPath(), file.name, ".tmp")
+        try {
+            PackZipWriter(Files.newOutputStream(temp).buffered(), "BetterModel's generated resource pack.").use { writer ->
+                pipeline.forEachOrdered(resources, {
+                    PackZipWriter.Entry.compress(it.path().path, it.get())
+                }) { resource, entry ->
+                    writer.write(entry)
+                    val index = pipeline.progress()
+                    debugPack {
+                        componentOf(
+                            "This file was successfully zipped: ".toComponent(),
+                            resource.path().path.toComponent(NamedTextColor.GREEN),
+                            " ($index/${pipeline.goal})".toComponent(NamedTextColor.DARK_GRAY)
+                        )
+                    }
                 }
             }
+            Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+        } finally {
+            Files.deleteIfExists(temp)
         }
     }
 }
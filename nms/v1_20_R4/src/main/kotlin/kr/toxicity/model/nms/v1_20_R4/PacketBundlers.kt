@@ -6,18 +6,56 @@
  */
 package kr.toxicity.model.nms.v1_20_R4
 
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.ByteBufAllocator
+import io.netty.util.AttributeKey
 import kr.toxicity.library.sharedpackets.PluginBundlePacket
 import kr.toxicity.model.api.nms.PacketBundler
 import net.kyori.adventure.key.Key
+import net.minecraft.network.Connection
+import net.minecraft.network.ConnectionProtocol
+import net.minecraft.network.PacketEncoder
 import net.minecraft.network.PacketSendListener
+import net.minecraft.network.ProtocolInfo
+import net.minecraft.network.codec.StreamCodec
 import net.minecraft.network.protocol.Packet
+import net.minecraft.network.protocol.game.ClientboundBundleDelimiterPacket
 import net.minecraft.network.protocol.game.ClientboundBundlePacket
 import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket
 import net.minecraft.network.protocol.game.ClientboundSetEquipmentPacket
+import net.minecraft.server.network.ServerCommonPacketListenerImpl
 import org.bukkit.craftbukkit.entity.CraftPlayer
 import org.bukkit.entity.Player
+import java.util.Queue
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.atomic.AtomicInteger
 
 private val KEY = Key.key("bettermodel")
+private const val ENCODER_NAME = "encoder"
+private const val BROADCAST_THRESHOLD = 2
+private val VANILLA_PIPELINE = AttributeKey.valueOf<Boolean>("bettermodel_vanilla_pipeline")
+private val VANILLA_HANDLERS = setOf(
+    "timeout",
+    "legacy_query",
+    "splitter",
+    "prepender",
+    "decrypt",
+    "encrypt",
+    "decompress",
+    "compress",
+    "decoder",
+    ENCODER_NAME,
+    "inbound_config",
+    "outbound_config",
+    "bundler",
+    "unbundler",
+    "packet_handler",
+    NMSImpl.INJECT_NAME
+)
+
+private val getConnection: (ServerCommonPacketListenerImpl) -> Connection = createAdaptedFieldGetter { it.connection }
+private val getProtocolInfo: (PacketEncoder<*>) -> ProtocolInfo<*> = createAdaptedFieldGetter()
+private val getPendingActions: (Connection) -> Queue<*> = createAdaptedFieldGetter()
 
 internal fun bundlerOfNotNull(vararg packets: ClientPacket?) = SimpleBundler(if (packets.isEmpty()) arrayListOf() else packets.filterNotNull().toMutableList())
 internal fun bundlerOf(vararg packets: ClientPacket) = SimpleBundler(if (packets.isEmpty()) arrayListOf() else packets.toMutableList())
@@ -39,52 +77,126 @@ internal fun Packet<*>.assumeSize() = when (this) {
     else -> 1
 }
 
+// Encoded frames skip Connection#send, so connections with queued packets or foreign handlers are sent one by one.
+// Handlers are injected before the play phase, so the pipeline is checked once per channel after that.
+private fun Connection.canBroadcast() = getPendingActions(this).isEmpty() && channel.attr(VANILLA_PIPELINE).run {
+    get() ?: channel.pipeline().all { (name, _) -> name in VANILLA_HANDLERS }.also { set(it) }
+}
+
+private fun Collection<Player>.broadcast(bundles: List<ClientboundBundlePacket>, fallback: (Player) -> Unit) {
+    if (size < BROADCAST_THRESHOLD) return forEach(fallback)
+    var encoded: List<ByteBuf>? = null
+    try {
+        forEach { player ->
+            val connection = getConnection((player as CraftPlayer).handle.connection)
+            val channel = connection.channel
+            val protocolInfo = (channel.pipeline()[ENCODER_NAME] as? PacketEncoder<*>)?.let(getProtocolInfo)
+            if (protocolInfo == null || protocolInfo.id() != ConnectionProtocol.PLAY) return@forEach fallback(player)
+            if (!connection.canBroadcast()) return@forEach fallback(player)
+            val frames = (encoded ?: protocolInfo.encode(bundles, channel.alloc()).also {
+                encoded = it
+            }).map(ByteBuf::retainedDuplicate)
+            try {
+                channel.eventLoop().execute {
+                    frames.forEach {
+                        channel.write(it)
+                    }
+                    channel.flush()
+                }
+            } catch (e: RejectedExecutionException) {
+                frames.forEach(ByteBuf::release)
+            }
+        }
+    } finally {
+        encoded?.forEach(ByteBuf::release)
+    }
+}
+
+@Suppress("UNCHECKED_CAST")
+private fun ProtocolInfo<*>.encode(bundles: List<ClientboundBundlePacket>, allocator: ByteBufAllocator): List<ByteBuf> {
+    val codec = codec() as StreamCodec<ByteBuf, Packet<*>>
+    val frames = ArrayList<ByteBuf>()
+    fun encode(packet: Packet<*>) {
+        val buffer = allocator.buffer()
+        frames += buffer
+        codec.encode(buffer, packet)
+    }
+    try {
+        bundles.forEach { bundle ->
+            encode(ClientboundBundleDelimiterPacket())
+            bundle.subPackets().forEach(::encode)
+            encode(ClientboundBundleDelimiterPacket())
+        }
+    } catch (e: Throwable) {
+        frames.forEach(ByteBuf::release)
+        throw e
+    }
+    return frames
+}
+
 internal interface PluginBundlePacketImpl : PluginBundlePacket<ClientPacket> {
     val bundlePacket: ClientboundBundlePacket
     fun size(): Int
     fun isEmpty(): Boolean
     fun add(other: ClientPacket)
+    fun clear()
 }
 
-internal class SimpleBundler(
-    private val list: MutableList<ClientPacket>
-) : PacketBundler, PluginBundlePacketImpl {
-    override val bundlePacket = ClientboundBundlePacket(this)
+internal abstract class RecyclableBundler : PacketBundler, PluginBundlePacketImpl {
+    private val pending = AtomicInteger()
+    final override val bundlePacket = ClientboundBundlePacket(this)
     override fun send(player: Player, onSuccess: Runnable) {
         if (isEmpty) return
         val connection = (player as CraftPlayer).handle.connection
-        connection.send(bundlePacket, PacketSendListener.thenRun(onSuccess))
+        pending.incrementAndGet()
+        connection.send(bundlePacket, PacketSendListener.thenRun {
+            pending.decrementAndGet()
+            onSuccess.run()
+        })
+    }
+    override fun send(players: Collection<Player>) {
+        if (isEmpty) return
+        players.broadcast(listOf(bundlePacket)) {
+            send(it)
+        }
+    }
+    override fun reset(): Boolean {
+        if (pending.get() > 0) return false
+        clear()
+        return true
     }
+    override fun key(): Key = KEY
+}
+
+internal class SimpleBundler(
+    private val list: MutableList<ClientPacket>
+) : RecyclableBundler() {
     override fun isEmpty(): Boolean = list.isEmpty()
     override fun size(): Int = list.size
-    override fun key(): Key = KEY
     override fun iterator(): MutableIterator<ClientPacket> = list.iterator()
     override fun add(other: ClientPacket) {
         list += other
     }
+    override fun clear() {
+        list.clear()
+    }
 }
 
-internal class LazyBundler : PacketBundler, PluginBundlePacketImpl {
+internal class LazyBundler : RecyclableBundler() {
     private var index = 0
     private var listBuilder: (MutableList<ClientPacket>) -> Unit = {}
-    private val list by lazy {
-        sent = true
-        ArrayList<ClientPacket>(index).also(listBuilder)
-    }
-    private var sent = false
+    @Volatile
+    private var list: MutableList<ClientPacket>? = null
 
-    override val bundlePacket = ClientboundBundlePacket(this)
-    override fun send(player: Player, onSuccess: Runnable) {
-        if (isEmpty) return
-        val connection = (player as CraftPlayer).handle.connection
-        connection.send(bundlePacket, PacketSendListener.thenRun(onSuccess))
-    }
     override fun isEmpty(): Boolean = size() == 0
     override fun size(): Int = index
-    override fun key(): Key = KEY
-    override fun iterator(): MutableIterator<ClientPacket> = list.iterator()
+    override fun iterator(): MutableIterator<ClientPacket> = (list ?: synchronized(this) {
+        list ?: ArrayList<ClientPacket>(index).also(listBuilder).also {
+            list = it
+        }
+    }).iterator()
     override fun add(other: ClientPacket) {
-        if (sent) throw uoe()
+        if (list != null) throw uoe()
         if (index++ == 0) {
             listBuilder = { it += other }
             return
@@ -95,6 +207,11 @@ internal class LazyBundler : PacketBundler, PluginBundlePacketImpl {
             it += other
         }
     }
+    override fun clear() {
+        index = 0
+        listBuilder = {}
+        list = null
+    }
 }
 
 internal class ParallelBundler(
@@ -102,25 +219,45 @@ internal class ParallelBundler(
 ) : PacketBundler {
     private val _creator: () -> PluginBundlePacketImpl = if (threshold < 32) { { lazyBundlerOf() } } else { { bundlerOf() } }
     private val subBundlers = mutableListOf<PluginBundlePacketImpl>()
+    private val pending = AtomicInteger()
+    private var used = 0
     private var sizeAssume = 0
-    private val newBundler get() = _creator().apply {
-        sizeAssume = 0
+    private val newBundler get() = (if (used < subBundlers.size) subBundlers[used] else _creator().apply {
         subBundlers += this
+    }).apply {
+        used++
+        sizeAssume = 0
     }
     private var selectedBundler = newBundler
     override fun send(player: Player, onSuccess: Runnable) {
         if (isEmpty) return
         val connection = (player as CraftPlayer).handle.connection
-        subBundlers.forEach {
-            connection.send(it.bundlePacket)
+        pending.addAndGet(used)
+        for (i in 0..<used) {
+            connection.send(subBundlers[i].bundlePacket, PacketSendListener.thenRun {
+                pending.decrementAndGet()
+            })
+        }
+    }
+    override fun send(players: Collection<Player>) {
+        if (isEmpty) return
+        players.broadcast((0..<used).map { subBundlers[it].bundlePacket }) {
+            send(it)
         }
     }
     override fun isEmpty(): Boolean = selectedBundler.isEmpty()
-    override fun size(): Int = subBundlers.sumOf(PluginBundlePacketImpl::size)
+    override fun size(): Int = (0..<used).sumOf { subBundlers[it].size() }
+    override fun reset(): Boolean {
+        if (pending.get() > 0) return false
+        for (i in 0..<used) subBundlers[i].clear()
+        used = 0
+        selectedBundler = newBundler
+        return true
+    }
     fun add(other: ClientPacket) {
         (if (sizeAssume > threshold) newBundler else selectedBundler)
             .apply { selectedBundler = this }
             .add(other)
         sizeAssume += other.assumeSize()
     }
-}
\ No newline at end of file
+}
@@ -18,6 +18,7 @@ import kr.toxicity.model.api.mount.MountController
 import kr.toxicity.model.api.nms.HitBox
 import kr.toxicity.model.api.nms.HitBoxListener
 import kr.toxicity.model.api.nms.ModelInteractionHand
+import kr.toxicity.model.api.tracker.EntityTrackerRegistry
 import kr.toxicity.model.api.util.FunctionUtil
 import net.minecraft.core.BlockPos
 import net.minecraft.network.protocol.game.ServerboundInteractPacket
@@ -50,6 +51,7 @@ import org.bukkit.util.Vector
 import org.joml.Quaterniond
 import org.joml.Vector3f
 import java.util.*
+import java.util.concurrent.atomic.AtomicBoolean
 import java.util.function.Supplier
 
 internal class HitBoxImpl(
@@ -67,11 +69,12 @@ internal class HitBoxImpl(
     private var noGravity = if (delegate is Mob) delegate.isNoAi else delegate.isNoGravity
     private var forceDismount = false
     private var onFly = false
+    private val tracked = AtomicBoolean(true)
 
     val craftEntity: HitBox by lazy {
         object : CraftArmorStand(Bukkit.getServer() as CraftServer, this), HitBox by this {}
     }
-    private val _rotatedSource = FunctionUtil.throttleTick(Supplier {
+    private val _rotatedSource = FunctionUtil.throttleFrame(Supplier {
         source.rotate(Quaterniond(bone.hitBoxViewRotation()))
     })
     private val rotatedSource get() = _rotatedSource.get()
@@ -94,6 +97,7 @@ internal class HitBoxImpl(
         persist = false
         isSilent = true
         initialized = true
+        EntityTrackerRegistry.TRACKED_ID_FILTER.add(id)
         level().addFreshEntity(this, CreatureSpawnEvent.SpawnReason.CUSTOM)
         level().addFreshEntity(interaction.apply {
             moveTo(delegate.position())
@@ -297,6 +301,7 @@ internal class HitBoxImpl(
     @Suppress("removal", "NULLABILITY_MISMATCH_BASED_ON_JAVA_ANNOTATIONS", "WRONG_NULLABILITY_FOR_JAVA_OVERRIDE")
     override fun remove(reason: RemovalReason, cause: org.bukkit.event.entity.EntityRemoveEvent.Cause?) { //Compiler incorrectly considers it as non-null by some reason :(
         initialSetup()
+        if (tracked.compareAndSet(true, false)) EntityTrackerRegistry.TRACKED_ID_FILTER.remove(id)
         listener.remove(craftEntity)
         interaction.remove(reason)
         super.remove(reason, cause)
@@ -11,6 +11,7 @@ import com.mojang.authlib.GameProfile
 import io.netty.channel.ChannelDuplexHandler
 import io.netty.channel.ChannelHandlerContext
 import io.netty.channel.ChannelPromise
+import it.unimi.dsi.fastutil.ints.IntList
 import kr.toxicity.model.api.BetterModel
 import kr.toxicity.model.api.bone.RenderedBone
 import kr.toxicity.model.api.data.blueprint.NamedBoundingBox
@@ -60,12 +61,13 @@ import java.util.function.Consumer
 class NMSImpl : NMS {
 
     companion object {
-        private const val INJECT_NAME = "bettermodel_channel_handler"
+        internal const val INJECT_NAME = "bettermodel_channel_handler"
 
         //Spigot
         private val getGameProfile: (net.minecraft.world.entity.player.Player) -> GameProfile = createAdaptedFieldGetter { it.gameProfile }
         private val getOfflineGameProfile: (CraftOfflinePlayer) -> GameProfile = createAdaptedFieldGetter()
         private val getConnection: (ServerCommonPacketListenerImpl) -> Connection = createAdaptedFieldGetter { it.connection }
+        private val getInteractEntityId: (ServerboundInteractPacket) -> Int = createAdaptedFieldGetter()
         private val spigotChunkAccess = ServerLevel::class.java.fields.firstOrNull {
             it.type == PersistentEntitySectionManager::class.java
         }?.apply {
@@ -154,6 +156,13 @@ class NMSImpl : NMS {
 
         private fun Int.toPlayerEntity() = toEntity(connection.player.serverLevel())
         private fun Entity.toRegistry() = BetterModel.registryOrNull(uuid)
+        private fun Int.isTracked() = EntityTrackerRegistry.TRACKED_ID_FILTER.mightContain(this)
+        private fun IntList.anyTracked(): Boolean {
+            for (i in 0..<size) {
+                if (getInt(i).isTracked()) return true
+            }
+            return false
+        }
         private inline fun Int.toRegistry(
             ifHitBox: (Entity) -> Unit = {}
         ) = (EntityTrackerRegistry.registry(this) ?: toPlayerEntity()?.let {
@@ -181,9 +190,7 @@ class NMSImpl : NMS {
 
         private fun <T : ClientGamePacketListener> Packet<in T>.handle(): Packet<in T>? {
             when (this) {
-                is ClientboundBundlePacket -> return if (subPackets() is Keyed) this else ClientboundBundlePacket(subPackets().mapNotNull {
-                    it.handle()
-                })
+                is ClientboundBundlePacket -> return if (subPackets() is Keyed) this else handleBundle()
                 is ClientboundAddEntityPacket -> {
                     val entity = id.toPlayerEntity() ?: return this
                     if (entity is HitBox) return entity.toFakeAddPacket()
@@ -193,7 +200,7 @@ class NMSImpl : NMS {
                         }
                     }
                 }
-                is ClientboundRemoveEntitiesPacket -> {
+                is ClientboundRemoveEntitiesPacket if entityIds.anyTracked() -> {
                     entityIds
                         .asSequence()
                         .mapNotNull map@ {
@@ -205,18 +212,18 @@ class NMSImpl : NMS {
                             it.remove()
                         }
                 }
-                is ClientboundSetPassengersPacket -> {
+                is ClientboundSetPassengersPacket if vehicle.isTracked() -> {
                     vehicle.toRegistry()?.let {
                         return it.mountPacket(it.entity().handle() as? Entity ?: return this, array = passengers)
                     }
                 }
-                is ClientboundUpdateAttributesPacket if entityId.toPlayerEntity() is HitBox -> return null
-                is ClientboundSetEntityDataPacket -> id.toRegistry {
+                is ClientboundUpdateAttributesPacket if entityId.isTracked() && entityId.toPlayerEntity() is HitBox -> return null
+                is ClientboundSetEntityDataPacket if id.isTracked() -> id.toRegistry {
                     return ClientboundSetEntityDataPacket(id, hitBoxData)
                 }?.let { registry ->
                     return toRegistryDataPacket(uuid, registry)
                 }
-                is ClientboundSetEquipmentPacket -> entity.toRegistry()?.let {
+                is ClientboundSetEquipmentPacket if entity.isTracked() -> entity.toRegistry()?.let {
                     if (it.hideOption(uuid).equipment()) (it.entity().handle() as? LivingEntity)?.toEmptyEquipmentPacket()?.let { packet ->
                         return packet
                     }
@@ -242,6 +249,21 @@ class NMSImpl : NMS {
             return this
         }
 
+        private fun ClientboundBundlePacket.handleBundle(): ClientboundBundlePacket {
+            val packets = subPackets()
+            var handled: MutableList<Packet<in ClientGamePacketListener>>? = null
+            var index = 0
+            for (packet in packets) {
+                val result = packet.handle()
+                if (handled == null && result !== packet) handled = packets.take(index).toMutableList()
+                if (handled != null && result != null) handled += result
+                index++
+            }
+            return handled?.let {
+                ClientboundBundlePacket(it)
+            } ?: this
+        }
+
         override fun write(ctx: ChannelHandlerContext, msg: Any, promise: ChannelPromise) {
             super.write(ctx, if (msg is Packet<*>) msg.handle() ?: return else msg, promise)
         }
@@ -267,6 +289,14 @@ class NMSImpl : NMS {
                         registry.updatePlayerLimb()
                     }
                 }
+                is ServerboundInteractPacket -> {
+                    PacketHitBoxImpl.get(getInteractEntityId(msg))?.let { hitBox ->
+                        BetterModel.plugin().scheduler().task(player) {
+                            hitBox.handle(connection.player, msg)
+                        }
+                        return
+                    }
+                }
                 is ServerboundPlayerActionPacket -> {
                     playerModel?.let { registry ->
                         if (!registry.hideOption(uuid).equipment()) return super.channelRead(ctx, msg)
@@ -355,6 +385,18 @@ class NMSImpl : NMS {
             mountController
         ).craftEntity
     }
+    override fun createPacketHitBox(entity: BaseEntity, bone: RenderedBone, namedBoundingBox: NamedBoundingBox, mountController: MountController, listener: HitBoxListener): PacketHitBox? {
+        val handle = entity.handle() as? Entity ?: return null
+        val newBox = namedBoundingBox.center()
+        return PacketHitBoxImpl(
+            namedBoundingBox.name,
+            newBox,
+            bone,
+            listener,
+            handle,
+            mountController
+        )
+    }
     override fun version(): NMSVersion = NMSVersion.V1_21_R3
 
     override fun adapt(entity: org.bukkit.entity.Entity): BaseEntity {
@@ -0,0 +1,288 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2025 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.nms.v1_21_R3
+
+import kr.toxicity.model.api.BetterModel
+import kr.toxicity.model.api.bone.BoneName
+import kr.toxicity.model.api.bone.RenderedBone
+import kr.toxicity.model.api.config.DebugConfig
+import kr.toxicity.model.api.data.blueprint.ModelBoundingBox
+import kr.toxicity.model.api.event.ModelDamagedEvent
+import kr.toxicity.model.api.event.ModelInteractAtEvent
+import kr.toxicity.model.api.event.ModelInteractEvent
+import kr.toxicity.model.api.mount.MountController
+import kr.toxicity.model.api.nms.HitBoxListener
+import kr.toxicity.model.api.nms.ModelInteractionHand
+import kr.toxicity.model.api.nms.PacketBundler
+import kr.toxicity.model.api.nms.PacketHitBox
+import kr.toxicity.model.api.util.ConcurrentInt2ReferenceMap
+import kr.toxicity.model.api.util.FunctionUtil
+import net.minecraft.network.protocol.game.ClientboundAddEntityPacket
+import net.minecraft.network.protocol.game.ClientboundEntityPositionSyncPacket
+import net.minecraft.network.protocol.game.ClientboundRemoveEntitiesPacket
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket
+import net.minecraft.network.protocol.game.ServerboundInteractPacket
+import net.minecraft.server.level.ServerLevel
+import net.minecraft.server.level.ServerPlayer
+import net.minecraft.world.InteractionHand
+import net.minecraft.world.InteractionHand.MAIN_HAND
+import net.minecraft.world.InteractionHand.OFF_HAND
+import net.minecraft.world.entity.Entity
+import net.minecraft.world.entity.EntityType
+import net.minecraft.world.entity.ai.attributes.Attributes
+import net.minecraft.world.entity.Interaction
+import net.minecraft.world.entity.PositionMoveRotation
+import net.minecraft.world.level.Level
+import net.minecraft.world.phys.Vec3
+import org.bukkit.Color
+import org.bukkit.Particle
+import org.bukkit.craftbukkit.entity.CraftPlayer
+import org.bukkit.util.BoundingBox
+import org.bukkit.util.Vector
+import org.joml.Quaterniond
+import org.joml.Vector3f
+import java.util.*
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.function.Supplier
+
+internal class PacketHitBoxImpl(
+    private val name: BoneName,
+    private val source: ModelBoundingBox,
+    private val bone: RenderedBone,
+    private val listener: HitBoxListener,
+    private val delegate: Entity,
+    private var mountController: MountController
+) : PacketHitBox {
+
+    companion object {
+        private const val REACH_TOLERANCE = 1.0
+        private val registry = ConcurrentInt2ReferenceMap<PacketHitBoxImpl>()
+
+        fun get(id: Int): PacketHitBoxImpl? = registry.get(id)
+    }
+
+    private class PacketInteraction(level: Level) : Interaction(EntityType.INTERACTION, level) {
+        init {
+            persist = false
+        }
+
+        fun resize(width: Float, height: Float) {
+            this.width = width
+            this.height = height
+        }
+    }
+
+    private val interaction = PacketInteraction(delegate.level())
+    private val removed = AtomicBoolean()
+    private val _rotatedSource = FunctionUtil.throttleFrame(Supplier {
+        source.rotate(Quaterniond(bone.hitBoxViewRotation()))
+    })
+    private val rotatedSource get() = _rotatedSource.get()
+
+    init {
+        updateInteraction()
+        registry.put(interaction.id, this)
+    }
+
+    override fun groupName(): BoneName = name
+    override fun id(): Int = interaction.id
+    override fun uuid(): UUID = interaction.uuid
+    override fun source(): org.bukkit.entity.Entity = delegate.bukkitEntity
+    override fun positionSource(): RenderedBone = bone
+    override fun forceDismount(): Boolean = false
+    override fun mountController(): MountController = mountController
+    override fun mountController(controller: MountController) {
+        this.mountController = controller
+    }
+    override fun hasMountDriver(): Boolean = false
+    override fun onWalk(): Boolean = false
+    override fun mount(entity: org.bukkit.entity.Entity) {
+    }
+    override fun dismount(entity: org.bukkit.entity.Entity) {
+    }
+    override fun dismountAll() {
+    }
+    override fun relativePosition(): Vector3f = delegate.position().run {
+        bone.hitBoxPosition().add(x.toFloat(), y.toFloat(), z.toFloat())
+    }
+    override fun listener(): HitBoxListener = listener
+
+    override fun boundingBox(): BoundingBox {
+        val pos = relativePosition()
+        val scale = bone.hitBoxScale()
+        val box = rotatedSource
+        return BoundingBox(
+            pos.x + box.minX * scale,
+            pos.y + box.minY * scale,
+            pos.z + box.minZ * scale,
+            pos.x + box.maxX * scale,
+            pos.y + box.maxY * scale,
+            pos.z + box.maxZ * scale
+        )
+    }
+
+    private fun updateInteraction() {
+        val pos = relativePosition()
+        val scale = bone.hitBoxScale()
+        val box = rotatedSource
+        interaction.setPos(
+            pos.x.toDouble(),
+            pos.y.toDouble() + box.minY * scale,
+            pos.z.toDouble()
+        )
+        interaction.resize(
+            (box.x() + box.z()).toFloat() / 2 * scale,
+            box.y().toFloat() * scale
+        )
+        interaction.setSharedFlagOnFire(delegate.remainingFireTicks > 0)
+    }
+
+    override fun spawn(bundler: PacketBundler) {
+        if (removed.get()) return
+        bundler += addPacket
+        interaction.entityData.pack()?.let {
+            bundler += ClientboundSetEntityDataPacket(interaction.id, it)
+        }
+    }
+
+    override fun sync(bundler: PacketBundler) {
+        if (removed.get()) return
+        val before = interaction.position()
+        updateInteraction()
+        if (before != interaction.position()) bundler += ClientboundEntityPositionSyncPacket(interaction.id, PositionMoveRotation.of(interaction), false)
+        interaction.entityData.packDirty()?.let {
+            bundler += ClientboundSetEntityDataPacket(interaction.id, it)
+        }
+        val debug = CONFIG.debug().has(DebugConfig.DebugOption.HITBOX)
+        if (!debug && !listener.hasSync()) return
+        BetterModel.plugin().scheduler().task(delegate.bukkitEntity) {
+            if (removed.get()) return@task
+            listener.sync(this)
+            if (debug) boundingBox().run {
+                val world = delegate.bukkitEntity.world
+                world.spawnParticle(Particle.DUST, minX, minY, minZ, 1, 0.0, 0.0, 0.0, 0.0, Particle.DustOptions(Color.RED, 1F))
+                world.spawnParticle(Particle.DUST, maxX, maxY, maxZ, 1, 0.0, 0.0, 0.0, 0.0, Particle.DustOptions(Color.RED, 1F))
+            }
+        }
+    }
+
+    override fun remove(bundler: PacketBundler) {
+        bundler += removePacket
+    }
+
+    override fun hide(player: org.bukkit.entity.Player) {
+        bundlerOf(removePacket).send(player)
+    }
+
+    override fun show(player: org.bukkit.entity.Player) {
+        bundlerOf().also(::spawn).send(player)
+    }
+
+    override fun removeHitBox() {
+        if (!removed.compareAndSet(false, true)) return
+        registry.remove(interaction.id)
+        BetterModel.plugin().scheduler().task(delegate.bukkitEntity) {
+            (delegate.level() as? ServerLevel)?.chunkSource?.broadcast(delegate, removePacket)
+            listener.remove(this)
+        }
+    }
+
+    fun handle(player: ServerPlayer, packet: ServerboundInteractPacket) {
+        if (removed.get() || player === delegate || player.level() !== delegate.level()) return
+        val eye = player.eyePosition
+        boundingBox().expand(REACH_TOLERANCE).rayTrace(
+            eye.toBukkit(),
+            player.lookAngle.toBukkit(),
+            player.entityInteractionRange() + REACH_TOLERANCE
+        ) ?: return
+        packet.dispatch(object : ServerboundInteractPacket.Handler {
+            override fun onInteraction(hand: InteractionHand) {
+                interact(player, hand)
+            }
+
+            override fun onInteraction(hand: InteractionHand, pos: Vec3) {
+                interactAt(player, pos, hand)
+            }
+
+            override fun onAttack() {
+                attack(player)
+            }
+        })
+    }
+
+    override fun triggerInteract(player: org.bukkit.entity.Player, hand: ModelInteractionHand) {
+        interact(
+            (player as CraftPlayer).handle,
+            when (hand) {
+                ModelInteractionHand.LEFT -> OFF_HAND
+                ModelInteractionHand.RIGHT -> MAIN_HAND
+            }
+        )
+    }
+
+    override fun triggerInteractAt(player: org.bukkit.entity.Player, hand: ModelInteractionHand, position: Vector) {
+        interactAt(
+            (player as CraftPlayer).handle,
+            position.toVanilla(),
+            when (hand) {
+                ModelInteractionHand.LEFT -> OFF_HAND
+                ModelInteractionHand.RIGHT -> MAIN_HAND
+            }
+        )
+    }
+
+    private fun attack(player: ServerPlayer) {
+        if (delegate.isInvulnerable) return
+        if (player === delegate.controllingPassenger && !mountController.canBeDamagedByRider()) return
+        val source = player.damageSources().playerAttack(player)
+        val amount = player.getAttributeValue(Attributes.ATTACK_DAMAGE).toFloat() * player.getAttackStrengthScale(0.5F)
+        val ds = ModelDamageSourceImpl(source)
+        val event = ModelDamagedEvent(this, ds, amount)
+        if (!event.call()) return
+        if (listener.damage(this, ds, amount.toDouble())) return
+        if (event.damage == amount) player.attack(delegate) else {
+            player.resetAttackStrengthTicker()
+            delegate.hurtServer(delegate.level() as ServerLevel, source, event.damage)
+        }
+    }
+
+    private fun interact(player: ServerPlayer, hand: InteractionHand) {
+        if (player === delegate) return
+        val interact = ModelInteractEvent(player.bukkitEntity, this, when (hand) {
+            MAIN_HAND -> ModelInteractionHand.RIGHT
+            OFF_HAND -> ModelInteractionHand.LEFT
+        })
+        if (!interact.call()) return
+        player.connection.handleInteract(ServerboundInteractPacket.createInteractionPacket(delegate, player.isShiftKeyDown, hand))
+    }
+
+    private fun interactAt(player: ServerPlayer, vec: Vec3, hand: InteractionHand) {
+        if (player === delegate) return
+        val interact = ModelInteractAtEvent(player.bukkitEntity, this, when (hand) {
+            MAIN_HAND -> ModelInteractionHand.RIGHT
+            OFF_HAND -> ModelInteractionHand.LEFT
+        }, vec.toBukkit())
+        if (!interact.call()) return
+        player.connection.handleInteract(ServerboundInteractPacket.createInteractionPacket(delegate, player.isShiftKeyDown, hand, vec))
+    }
+
+    private val addPacket get() = ClientboundAddEntityPacket(
+        interaction.id,
+        interaction.uuid,
+        interaction.x,
+        interaction.y,
+        interaction.z,
+        interaction.xRot,
+        interaction.yRot,
+        interaction.type,
+        0,
+        interaction.deltaMovement,
+        interaction.yHeadRot.toDouble()
+    )
+
+    private val removePacket get() = ClientboundRemoveEntitiesPacket(interaction.id)
+}
@@ -19,6 +19,7 @@ import kr.toxicity.model.api.mount.MountController
 import kr.toxicity.model.api.nms.HitBox
 import kr.toxicity.model.api.nms.HitBoxListener
 import kr.toxicity.model.api.nms.ModelInteractionHand
+import kr.toxicity.model.api.tracker.EntityTrackerRegistry
 import kr.toxicity.model.api.util.FunctionUtil
 import net.minecraft.network.protocol.game.ServerboundInteractPacket
 import net.minecraft.server.level.ServerLevel
@@ -53,6 +54,7 @@ import org.bukkit.util.Vector
 import org.joml.Quaterniond
 import org.joml.Vector3f
 import java.util.*
+import java.util.concurrent.atomic.AtomicBoolean
 import java.util.function.Supplier
 
 internal class HitBoxImpl(
@@ -70,11 +72,12 @@ internal class HitBoxImpl(
     private var noGravity = if (delegate is Mob) delegate.isNoAi else delegate.isNoGravity
     private var forceDismount = false
     private var onFly = false
+    private val tracked = AtomicBoolean(true)
 
     val craftEntity: HitBox by lazy {
         object : CraftArmorStand(Bukkit.getServer() as CraftServer, this), HitBox by this {}
     }
-    private val _rotatedSource = FunctionUtil.throttleTick(Supplier {
+    private val _rotatedSource = FunctionUtil.throttleFrame(Supplier {
         source.rotate(Quaterniond(bone.hitBoxViewRotation()))
     })
     private val rotatedSource get() = _rotatedSource.get()
@@ -98,6 +101,7 @@ internal class HitBoxImpl(
         persist = false
         isSilent = true
         initialized = true
+        EntityTrackerRegistry.TRACKED_ID_FILTER.add(id)
         level().addFreshEntity(this, CreatureSpawnEvent.SpawnReason.CUSTOM)
         level().addFreshEntity(interaction.apply {
             moveTo(delegate.position())
@@ -315,6 +319,7 @@ internal class HitBoxImpl(
 
     override fun remove(reason: RemovalReason, cause: EntityRemoveEvent.Cause?) {
         initialSetup()
+        if (tracked.compareAndSet(true, false)) EntityTrackerRegistry.TRACKED_ID_FILTER.remove(id)
         listener.remove(craftEntity)
         interaction.remove(reason)
         super.remove(reason, cause)
@@ -19,5 +19,6 @@ include(
     "nms:v1_21_R4",
     "nms:v1_21_R5",
     "nms:v1_21_R6",
-    "test-plugin"
+    "test-plugin",
+    "benchmark"
 )
\ No newline at end of file